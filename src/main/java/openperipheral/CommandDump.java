@@ -1,19 +1,40 @@
 package openperipheral;
 
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
 import cpw.mods.fml.common.Loader;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.ChatComponentTranslation;
+import net.minecraft.util.IChatComponent;
 import openmods.Log;
 import openmods.OpenMods;
 import openmods.utils.SidedCommand;
@@ -21,18 +42,73 @@ import openperipheral.adapter.AdapterRegistry;
 import openperipheral.adapter.FeatureGroupManager;
 import openperipheral.adapter.composed.ComposedMethodsFactory;
 import openperipheral.adapter.composed.IMethodMap;
+import openperipheral.adapter.composed.InlineAdapterCache;
 import openperipheral.adapter.wrappers.AdapterWrapper;
+import openperipheral.adapter.wrappers.CallRateLimiter;
 import openperipheral.util.DocBuilder;
 import openperipheral.util.DocBuilder.IClassDecorator;
+import openperipheral.util.IDocWriter;
+import openperipheral.util.JsonDocWriter;
+import openperipheral.util.XmlDocWriter;
 
 public class CommandDump extends SidedCommand {
 
+	private static final ExecutorService dumpExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, "OP-dump");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private static final AtomicBoolean dumpInProgress = new AtomicBoolean();
+
+	private static final Set<String> FORMATS = ImmutableSet.of("xhtml", "xml", "json");
+
+	/**
+	 * Delivers messages from dump thread to command senders on server thread
+	 */
+	public static class MessageQueue {
+		private static class PendingMessage {
+			private final ICommandSender sender;
+			private final IChatComponent message;
+
+			public PendingMessage(ICommandSender sender, IChatComponent message) {
+				this.sender = sender;
+				this.message = message;
+			}
+		}
+
+		private final Queue<PendingMessage> messages = Queues.newConcurrentLinkedQueue();
+
+		public void add(ICommandSender sender, IChatComponent message) {
+			messages.add(new PendingMessage(sender, message));
+		}
+
+		@SubscribeEvent
+		public void onServerTick(TickEvent.ServerTickEvent evt) {
+			if (evt.phase != Phase.END) return;
+
+			PendingMessage pending;
+			while ((pending = messages.poll()) != null)
+				pending.sender.addChatMessage(pending.message);
+		}
+	}
+
+	public static final MessageQueue MESSAGE_QUEUE = new MessageQueue();
+
 	public CommandDump(String name, boolean restricted) {
 		super(name, restricted);
 	}
 
+	// executed in dump thread, so all state should be copied when task is created
+	private interface IDumpTask {
+		public void dump(DocBuilder builder);
+	}
+
 	private interface IArchSerializer {
-		public void serialize(DocBuilder builder);
+		public IDumpTask prepare();
 	}
 
 	private static final List<IArchSerializer> archSerializers = Lists.newArrayList();
@@ -40,9 +116,15 @@ public class CommandDump extends SidedCommand {
 	public static void addArchSerializer(final String architecture, final String type, final IClassDecorator decorator, final ComposedMethodsFactory<? extends IMethodMap> methods) {
 		archSerializers.add(new IArchSerializer() {
 			@Override
-			public void serialize(DocBuilder builder) {
-				for (Map.Entry<Class<?>, ? extends IMethodMap> e : methods.listCollectedClasses().entrySet())
-					builder.createDocForClass(architecture, type, decorator, e.getKey(), e.getValue());
+			public IDumpTask prepare() {
+				final Map<Class<?>, IMethodMap> classes = ImmutableMap.<Class<?>, IMethodMap> copyOf(methods.listCollectedClasses());
+				return new IDumpTask() {
+					@Override
+					public void dump(DocBuilder builder) {
+						for (Map.Entry<Class<?>, IMethodMap> e : classes.entrySet())
+							builder.createDocForClass(architecture, type, decorator, e.getKey(), e.getValue());
+					}
+				};
 			}
 		});
 	}
@@ -52,58 +134,181 @@ public class CommandDump extends SidedCommand {
 		return name + " <type> <file>";
 	}
 
-	private static void processExternalAdapters(DocBuilder builder, AdapterRegistry registry, String type) {
+	private static IDumpTask prepareExternalAdapters(AdapterRegistry registry, final String type) {
+		final List<Map.Entry<Class<?>, AdapterWrapper>> adapters = Lists.newArrayList();
 		for (Map.Entry<Class<?>, Collection<AdapterWrapper>> e : registry.listExternalAdapters().entrySet()) {
 			final Class<?> cls = e.getKey();
 			for (AdapterWrapper w : e.getValue())
-				builder.createDocForAdapter(type, "external", cls, w);
+				adapters.add(Maps.<Class<?>, AdapterWrapper> immutableEntry(cls, w));
 		}
+
+		return new IDumpTask() {
+			@Override
+			public void dump(DocBuilder builder) {
+				for (Map.Entry<Class<?>, AdapterWrapper> e : adapters)
+					builder.createDocForAdapter(type, "external", e.getKey(), e.getValue());
+			}
+		};
 	}
 
-	@Override
-	public void processCommand(ICommandSender sender, String[] args) {
-		final String format = (args.length >= 1)? args[0] : "xhtml";
-		final String name = (args.length >= 2)? args[1] : "openperipheral_docs";
-		final String filename = name + '.' + format;
+	private static IDumpTask prepareRootAttributes(final String senderName) {
+		final String modVersion = getModVersion();
+		final String currentTime = getCurrentTime();
+		return new IDumpTask() {
+			@Override
+			public void dump(DocBuilder builder) {
+				builder.setRootAttribute("generatedIn", modVersion);
+				builder.setRootAttribute("generatedOn", currentTime);
+				builder.setRootAttribute("generatedBy", senderName);
+			}
+		};
+	}
+
+	private static IDumpTask prepareArchitectures() {
+		final Map<String, Boolean> architectures = Maps.newLinkedHashMap();
+		for (String architecture : ArchitectureChecker.INSTANCE.knownArchitectures())
+			architectures.put(architecture, ArchitectureChecker.INSTANCE.isEnabled(architecture));
 
+		return new IDumpTask() {
+			@Override
+			public void dump(DocBuilder builder) {
+				for (Map.Entry<String, Boolean> e : architectures.entrySet())
+					builder.createDocForArchitecture(e.getKey(), e.getValue());
+			}
+		};
+	}
+
+	private static IDumpTask prepareFeatureGroups() {
+		final Set<String> knownArchitectures = ArchitectureChecker.INSTANCE.knownArchitectures();
+		final Map<String, List<String>> featureGroups = Maps.newLinkedHashMap();
+		for (String fg : FeatureGroupManager.INSTANCE.knownFeatureGroups()) {
+			final List<String> enabledArchitectures = Lists.newArrayList();
+			for (String arch : knownArchitectures)
+				if (FeatureGroupManager.INSTANCE.isEnabled(fg, arch)) enabledArchitectures.add(arch);
+			featureGroups.put(fg, enabledArchitectures);
+		}
+
+		return new IDumpTask() {
+			@Override
+			public void dump(DocBuilder builder) {
+				for (Map.Entry<String, List<String>> e : featureGroups.entrySet())
+					builder.createDocForFeatureGroup(e.getKey(), e.getValue());
+			}
+		};
+	}
+
+	private static IDumpTask prepareStats(final String id, final Map<String, ?> stats) {
+		return new IDumpTask() {
+			@Override
+			public void dump(DocBuilder builder) {
+				builder.createDocForStats(id, stats);
+			}
+		};
+	}
+
+	private static List<IDumpTask> prepareTasks(String senderName) {
+		final List<IDumpTask> tasks = Lists.newArrayList();
+		tasks.add(prepareRootAttributes(senderName));
+		tasks.add(prepareArchitectures());
+		tasks.add(prepareFeatureGroups());
+
+		for (IArchSerializer serializer : archSerializers)
+			tasks.add(serializer.prepare());
+
+		tasks.add(prepareExternalAdapters(AdapterRegistry.PERIPHERAL_ADAPTERS, "peripheral"));
+		tasks.add(prepareExternalAdapters(AdapterRegistry.OBJECT_ADAPTERS, "object"));
+
+		tasks.add(prepareStats("inlineAdapters", InlineAdapterCache.INSTANCE.getStats()));
+		tasks.add(prepareStats("callRateLimits", CallRateLimiter.INSTANCE.getStats()));
+		return tasks;
+	}
+
+	private static void writeDoc(IDocWriter writer, List<IDumpTask> tasks) {
+		final DocBuilder builder = new DocBuilder(writer);
+		for (IDumpTask task : tasks)
+			task.dump(builder);
+		builder.close();
+	}
+
+	private static void writeXml(File output, List<IDumpTask> tasks) throws IOException {
+		final OutputStream os = new BufferedOutputStream(new FileOutputStream(output));
 		try {
-			final long start = System.currentTimeMillis();
-			File output = new File(filename);
+			writeDoc(new XmlDocWriter(os), tasks);
+		} finally {
+			os.close();
+		}
+	}
 
-			if (!output.isAbsolute()) output = new File(OpenMods.proxy.getMinecraftDir(), filename);
+	private static void writeJson(File output, List<IDumpTask> tasks) throws IOException {
+		final Writer os = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output), Charsets.UTF_8));
+		try {
+			writeDoc(new JsonDocWriter(os), tasks);
+		} finally {
+			os.close();
+		}
+	}
 
-			final DocBuilder builder = new DocBuilder();
+	private static void writeXhtml(File output, List<IDumpTask> tasks) throws IOException {
+		final File tmp = File.createTempFile("op_dump", ".xml", output.getAbsoluteFile().getParentFile());
+		try {
+			writeXml(tmp, tasks);
+			DocBuilder.transformToXhtml(tmp, output);
+		} finally {
+			tmp.delete();
+		}
+	}
 
-			builder.setRootAttribute("generatedIn", getModVersion());
+	private static void writeDump(String format, File output, List<IDumpTask> tasks) throws IOException {
+		if (format.equalsIgnoreCase("xhtml")) writeXhtml(output, tasks);
+		else if (format.equalsIgnoreCase("xml")) writeXml(output, tasks);
+		else if (format.equalsIgnoreCase("json")) writeJson(output, tasks);
+		else throw new IllegalArgumentException(format);
+	}
 
-			builder.setRootAttribute("generatedOn", getCurrentTime());
-			builder.setRootAttribute("generatedBy", sender.getCommandSenderName());
+	@Override
+	public void processCommand(final ICommandSender sender, String[] args) {
+		final String format = (args.length >= 1)? args[0] : "xhtml";
+		final String name = (args.length >= 2)? args[1] : "openperipheral_docs";
+		final String filename = name + '.' + format;
 
-			final Set<String> knownArchitectures = ArchitectureChecker.INSTANCE.knownArchitectures();
-			for (String architecture : knownArchitectures) {
-				final boolean isEnabled = ArchitectureChecker.INSTANCE.isEnabled(architecture);
-				builder.createDocForArchitecture(architecture, isEnabled);
-			}
+		if (!FORMATS.contains(format.toLowerCase())) {
+			sender.addChatMessage(new ChatComponentText("Invalid format: " + format));
+			return;
+		}
+
+		if (!dumpInProgress.compareAndSet(false, true)) {
+			sender.addChatMessage(new ChatComponentTranslation("openperipheralcore.dump.busy"));
+			return;
+		}
 
-			for (String fg : FeatureGroupManager.INSTANCE.knownFeatureGroups())
-				builder.createDocForFeatureGroup(fg, knownArchitectures, FeatureGroupManager.INSTANCE);
+		try {
+			final long start = System.currentTimeMillis();
+			File file = new File(filename);
 
-			for (IArchSerializer serializer : archSerializers)
-				serializer.serialize(builder);
+			if (!file.isAbsolute()) file = new File(OpenMods.proxy.getMinecraftDir(), filename);
+			final File output = file;
 
-			processExternalAdapters(builder, AdapterRegistry.PERIPHERAL_ADAPTERS, "peripheral");
-			processExternalAdapters(builder, AdapterRegistry.OBJECT_ADAPTERS, "object");
+			final List<IDumpTask> tasks = prepareTasks(sender.getCommandSenderName());
 
-			if (format.equalsIgnoreCase("xhtml")) builder.dumpXml(output, true);
-			else if (format.equalsIgnoreCase("xml")) builder.dumpXml(output, false);
-			else {
-				sender.addChatMessage(new ChatComponentText("Invalid format: " + format));
-				return;
-			}
+			dumpExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						writeDump(format, output, tasks);
+						long duration = System.currentTimeMillis() - start;
+						MESSAGE_QUEUE.add(sender, new ChatComponentTranslation("openperipheralcore.dump.done", format, output.getAbsolutePath(), duration));
+					} catch (Throwable t) {
+						Log.warn(t, "Failed to execute dump command");
+						MESSAGE_QUEUE.add(sender, new ChatComponentTranslation("openperipheralcore.dump.fail"));
+					} finally {
+						dumpInProgress.set(false);
+					}
+				}
+			});
 
-			long duration = System.currentTimeMillis() - start;
-			sender.addChatMessage(new ChatComponentTranslation("openperipheralcore.dump.done", format, output.getAbsolutePath(), duration));
+			sender.addChatMessage(new ChatComponentTranslation("openperipheralcore.dump.started", format));
 		} catch (Throwable t) {
+			dumpInProgress.set(false);
 			Log.warn(t, "Failed to execute dump command");
 			sender.addChatMessage(new ChatComponentTranslation("openperipheralcore.dump.fail"));
 		}
@@ -127,7 +332,7 @@ public class CommandDump extends SidedCommand {
 
 	@Override
 	public List<?> addTabCompletionOptions(ICommandSender icommandsender, String[] astring) {
-		if (astring.length == 1) return Lists.newArrayList("xml", "xhtml");
+		if (astring.length == 1) return Lists.newArrayList(FORMATS);
 		return null;
 	}
 
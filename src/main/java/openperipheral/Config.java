@@ -7,6 +7,9 @@ public class Config {
 	public static final String CATEGORY_FEATURE_GROUPS = "featureGroups";
 	public static final String FIELD_FEATURE_GROUPS = "blacklist";
 
+	public static final String CATEGORY_PERFORMANCE = "performance";
+	public static final String FIELD_COALESCED_SIGNALS = "coalescedSignals";
+
 	@ConfigProperty(category = CATEGORY_FEATURE_GROUPS, name = FIELD_FEATURE_GROUPS, comment = "Blacklist for feature groups, in format 'feature:architecture (e.g. 'vanilla:ComputerCraft'). Note: to get names of feature groups use either /op_dump or config GUI")
 	public static String[] featureGroupsBlacklist = new String[0];
 
@@ -16,9 +19,48 @@ public class Config {
 	@ConfigProperty(category = "dev", name = "enableDevMethods", comment = "Enable methods that access reflection metadata")
 	public static boolean devMethods = false;
 
+	@ConfigProperty(category = "dev", name = "verifyThreadSafety", comment = "Report suspicious declarations of methods marked with @ThreadSafe and repeat their calls in main thread, reporting different results")
+	public static boolean verifyThreadSafety = false;
+
 	@ConfigProperty(category = "performance", name = "threadPoolForSignallingCalls", comment = "Number of threads available to calls marked with @ReturnSignal")
 	public static int signallingPoolSize = 10;
 
+	@ConfigProperty(category = "performance", name = "callTimeout", comment = "Default time (in milliseconds) that call can wait for execution in main thread or signalling pool before being dropped. Can be overriden by @Timeout. Zero or less disables timeout (default, so only methods with @Timeout are dropped)")
+	public static int callTimeout = 0;
+
+	@ConfigProperty(category = "performance", name = "batchSignals", comment = "Queue signals sent to computers and deliver them at the end of server tick. When enabled, signal() reports only if signal was queued, not if it was delivered")
+	public static boolean batchSignals = false;
+
+	@ConfigProperty(category = CATEGORY_PERFORMANCE, name = FIELD_COALESCED_SIGNALS, comment = "Signals that are merged when sent more than once per tick to single computer (only latest is delivered). Format: 'name' or 'name:N', where N is number of leading arguments that must also match (requires batchSignals)")
+	public static String[] coalescedSignals = new String[0];
+
+	@ConfigProperty(category = "limits", name = "computerSyncCallRate", comment = "Maximum number of synchronous (main thread) peripheral calls per second for single computer. Zero or less disables limit")
+	public static int computerSyncCallRate = 0;
+
+	@ConfigProperty(category = "limits", name = "computerAsyncCallRate", comment = "Maximum number of asynchronous peripheral calls per second for single computer. Zero or less disables limit")
+	public static int computerAsyncCallRate = 0;
+
+	@ConfigProperty(category = "limits", name = "peripheralSyncCallRate", comment = "Maximum number of synchronous (main thread) calls per second from single computer to peripherals of single type. Zero or less disables limit")
+	public static int peripheralSyncCallRate = 0;
+
+	@ConfigProperty(category = "limits", name = "peripheralAsyncCallRate", comment = "Maximum number of asynchronous calls per second from single computer to peripherals of single type. Zero or less disables limit")
+	public static int peripheralAsyncCallRate = 0;
+
+	@ConfigProperty(category = "limits", name = "methodSyncCallRate", comment = "Maximum number of synchronous (main thread) calls per second from single computer to single method of peripheral type. Zero or less disables limit")
+	public static int methodSyncCallRate = 0;
+
+	@ConfigProperty(category = "limits", name = "methodAsyncCallRate", comment = "Maximum number of asynchronous calls per second from single computer to single method of peripheral type. Zero or less disables limit")
+	public static int methodAsyncCallRate = 0;
+
+	@ConfigProperty(category = "limits", name = "burstSeconds", comment = "Size of call budget that can be used at once, in seconds of call rate")
+	public static int callRateBurstSeconds = 2;
+
+	@ConfigProperty(category = "limits", name = "maxPropertySubscriptions", comment = "Maximum number of property subscriptions (checked every tick) for single computer. Zero or less disables limit")
+	public static int maxPropertySubscriptions = 64;
+
+	@ConfigProperty(category = "limits", name = "waitWhenThrottled", comment = "If true, ComputerCraft calls over limit will sleep on computer thread until budget is available (calls from OpenComputers are always rejected with error)")
+	public static boolean waitWhenThrottled = true;
+
 	@ConfigProperty(category = "interfaces", name = "ComputerCraft", comment = "Controls ComputerCraft integration")
 	public static boolean interfaceComputerCraft = true;
 
@@ -30,7 +30,7 @@ import openperipheral.adapter.FeatureGroupManager;
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class ConfigGuiFactory implements IModGuiFactory {
 
-	// Clone of settings, since changes have to be applied after restart
+	// Clone of settings, edited by GUI and applied only when changes are confirmed
 	private static FeatureGroupManager CONFIG_FEATURE_GROUP_MANAGER;
 
 	private static class FeatureConfigElement implements IConfigElement<Boolean> {
@@ -133,7 +133,8 @@ public class ConfigGuiFactory implements IModGuiFactory {
 
 		@Override
 		public boolean requiresMcRestart() {
-			return true;
+			// blacklist is reloaded on config change
+			return false;
 		}
 
 		@Override
@@ -248,6 +249,10 @@ public class ConfigGuiFactory implements IModGuiFactory {
 				final String[] blacklist = CONFIG_FEATURE_GROUP_MANAGER.saveBlacklist();
 				config.get(Config.CATEGORY_FEATURE_GROUPS, Config.FIELD_FEATURE_GROUPS, blacklist).set(blacklist);
 				config.save();
+
+				// applied immediately, already composed classes will be rebuilt on next use
+				Config.featureGroupsBlacklist = blacklist;
+				FeatureGroupManager.INSTANCE.loadBlacklist(blacklist);
 			}
 		}
 	}
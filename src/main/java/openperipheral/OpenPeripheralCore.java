@@ -10,6 +10,7 @@ import cpw.mods.fml.common.event.FMLInterModComms;
 import cpw.mods.fml.common.event.FMLLoadCompleteEvent;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
 import cpw.mods.fml.common.event.FMLServerStartingEvent;
+import cpw.mods.fml.common.event.FMLServerStoppingEvent;
 import java.io.File;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.config.Configuration;
@@ -19,10 +20,13 @@ import openmods.config.properties.ConfigProcessing;
 import openperipheral.adapter.FeatureGroupManager;
 import openperipheral.adapter.PeripheralTypeProvider;
 import openperipheral.adapter.TileEntityBlacklist;
+import openperipheral.adapter.property.PropertyChangeWatcher;
 import openperipheral.adapter.types.classifier.MinecraftTypeClassifier;
 import openperipheral.adapter.types.classifier.TypeClassifier;
+import openperipheral.adapter.wrappers.ThreadSafetyVerifier;
 import openperipheral.api.Constants;
 import openperipheral.api.peripheral.IOpenPeripheral;
+import openperipheral.interfaces.SignalDispatcher;
 import openperipheral.interfaces.cc.ComputerCraftChecker;
 import openperipheral.interfaces.cc.ModuleComputerCraft;
 import openperipheral.interfaces.oc.ModuleOpenComputers;
@@ -71,8 +75,16 @@ public class OpenPeripheralCore {
 
 		FeatureGroupManager.INSTANCE.loadBlacklist(Config.featureGroupsBlacklist);
 		FMLCommonHandler.instance().bus().register(new ConfigGuiFactory.ConfigChangeListener(config));
+		FMLCommonHandler.instance().bus().register(PropertyChangeWatcher.INSTANCE);
+
+		SignalDispatcher.INSTANCE.loadCoalescingRules(Config.coalescedSignals);
+		FMLCommonHandler.instance().bus().register(SignalDispatcher.INSTANCE);
+		FMLCommonHandler.instance().bus().register(CommandDump.MESSAGE_QUEUE);
+		FMLCommonHandler.instance().bus().register(ThreadSafetyVerifier.INSTANCE);
 
 		MinecraftForge.EVENT_BUS.register(TileEntityBlacklist.INSTANCE);
+		MinecraftForge.EVENT_BUS.register(FeatureGroupManager.INSTANCE);
+		MinecraftForge.EVENT_BUS.register(SignalDispatcher.INSTANCE);
 
 		FMLInterModComms.sendMessage(Mods.OPENCOMPUTERS, "blacklistPeripheral", IOpenPeripheral.class.getName());
 
@@ -116,4 +128,9 @@ public class OpenPeripheralCore {
 		evt.registerServerCommand(new CommandDump("op_dump", evt.getServer().isDedicatedServer()));
 	}
 
+	@EventHandler
+	public void serverStopping(FMLServerStoppingEvent evt) {
+		PeripheralTypeProvider.INSTANCE.flush();
+	}
+
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.google.common.collect.Multimap;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import openmods.Log;
 import openperipheral.adapter.wrappers.AdapterWrapper;
 import openperipheral.adapter.wrappers.ExternalAdapterWrapper;
@@ -20,6 +21,15 @@ public class AdapterRegistry {
 
 	private final Multimap<Class<?>, AdapterWrapper> externalAdapters = HashMultimap.create();
 
+	private final AtomicInteger epoch = new AtomicInteger();
+
+	/**
+	 * Incremented on every change, so users of composed classes can detect that they are stale
+	 */
+	public int getEpoch() {
+		return epoch.get();
+	}
+
 	public Map<Class<?>, Collection<AdapterWrapper>> listExternalAdapters() {
 		return Collections.unmodifiableMap(externalAdapters.asMap());
 	}
@@ -37,6 +47,7 @@ public class AdapterRegistry {
 
 		Log.trace("Registering %s adapter (source id: %s) for %s", wrapper.describe(), wrapper.source(), targetCls);
 		externalAdapters.put(targetCls, wrapper);
+		epoch.incrementAndGet();
 		return true;
 	}
 
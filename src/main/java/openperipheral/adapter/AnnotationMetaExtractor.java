@@ -7,6 +7,8 @@ import java.lang.reflect.AnnotatedElement;
 import java.util.Set;
 import openperipheral.api.adapter.Asynchronous;
 import openperipheral.api.adapter.ReturnSignal;
+import openperipheral.api.adapter.ThreadSafe;
+import openperipheral.api.adapter.Timeout;
 import openperipheral.api.architecture.ExcludeArchitecture;
 import openperipheral.api.architecture.FeatureGroup;
 
@@ -14,14 +16,20 @@ public class AnnotationMetaExtractor {
 
 	private static final boolean DEFAULT_ASYNC = false;
 
+	private static final boolean DEFAULT_THREAD_SAFE = false;
+
 	private static final Set<String> DEFAULT_BLACKLIST = ImmutableSet.of();
 
 	private static final Set<String> DEFAULT_FEATURE_GROUPS = ImmutableSet.of();
 
 	private final boolean classIsAsync;
 
+	private final boolean classIsThreadSafe;
+
 	private final Optional<String> classReturnSignal;
 
+	private final Optional<Integer> classTimeout;
+
 	private final Set<String> classExcludedArchitectures;
 
 	private final Set<String> classFeatureGroups;
@@ -29,7 +37,16 @@ public class AnnotationMetaExtractor {
 	private static boolean isAsynchronous(AnnotatedElement element, boolean defaultValue) {
 		if (element == null) return defaultValue;
 		Asynchronous async = element.getAnnotation(Asynchronous.class);
-		return async != null? async.value() : defaultValue;
+		if (async != null) return async.value();
+		// thread-safe methods don't need main thread
+		ThreadSafe threadSafe = element.getAnnotation(ThreadSafe.class);
+		return threadSafe != null? threadSafe.value() : defaultValue;
+	}
+
+	private static boolean isThreadSafe(AnnotatedElement element, boolean defaultValue) {
+		if (element == null) return defaultValue;
+		ThreadSafe threadSafe = element.getAnnotation(ThreadSafe.class);
+		return threadSafe != null? threadSafe.value() : defaultValue;
 	}
 
 	private static Optional<String> getReturnSignal(AnnotatedElement element, Optional<String> defaultValue) {
@@ -38,6 +55,12 @@ public class AnnotationMetaExtractor {
 		return ret != null? Optional.of(ret.value()) : defaultValue;
 	}
 
+	private static Optional<Integer> getTimeout(AnnotatedElement element, Optional<Integer> defaultValue) {
+		if (element == null) return defaultValue;
+		final Timeout timeout = element.getAnnotation(Timeout.class);
+		return timeout != null? Optional.of(timeout.value()) : defaultValue;
+	}
+
 	private static Set<String> getArchBlacklist(AnnotatedElement element, Set<String> defaultValue) {
 		if (element == null) return defaultValue;
 		ExcludeArchitecture blacklist = element.getAnnotation(ExcludeArchitecture.class);
@@ -55,8 +78,12 @@ public class AnnotationMetaExtractor {
 
 		this.classIsAsync = isAsynchronous(cls, DEFAULT_ASYNC);
 
+		this.classIsThreadSafe = isThreadSafe(cls, DEFAULT_THREAD_SAFE);
+
 		this.classReturnSignal = getReturnSignal(cls, Optional.<String> absent());
 
+		this.classTimeout = getTimeout(cls, Optional.<Integer> absent());
+
 		Set<String> pkgExcludedArchitectures = getArchBlacklist(pkg, DEFAULT_BLACKLIST);
 		this.classExcludedArchitectures = getArchBlacklist(cls, pkgExcludedArchitectures);
 
@@ -68,10 +95,18 @@ public class AnnotationMetaExtractor {
 		return isAsynchronous(element, classIsAsync);
 	}
 
+	public boolean isThreadSafe(AnnotatedElement element) {
+		return isThreadSafe(element, classIsThreadSafe);
+	}
+
 	public Optional<String> getReturnSignal(AnnotatedElement element) {
 		return getReturnSignal(element, classReturnSignal);
 	}
 
+	public Optional<Integer> getTimeout(AnnotatedElement element) {
+		return getTimeout(element, classTimeout);
+	}
+
 	public Set<String> getExcludedArchitectures(AnnotatedElement element) {
 		return getArchBlacklist(element, classExcludedArchitectures);
 	}
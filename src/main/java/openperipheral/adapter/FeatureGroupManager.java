@@ -5,10 +5,15 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import cpw.mods.fml.common.discovery.ASMDataTable;
 import cpw.mods.fml.common.discovery.ASMDataTable.ASMData;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import openmods.config.properties.ConfigurationChange;
+import openperipheral.Config;
 import openperipheral.api.architecture.FeatureGroup;
 import openperipheral.api.architecture.IFeatureGroupManager;
 
@@ -17,7 +22,7 @@ public class FeatureGroupManager implements IFeatureGroupManager {
 	public static final FeatureGroupManager INSTANCE = new FeatureGroupManager();
 
 	private static class FeatureGroupProperties {
-		private final Set<String> blacklistedArchitectures = Sets.newHashSet();
+		private final Set<String> blacklistedArchitectures = Sets.newSetFromMap(Maps.<String, Boolean> newConcurrentMap());
 
 		public void disable(String architecture) {
 			blacklistedArchitectures.add(architecture);
@@ -38,20 +43,31 @@ public class FeatureGroupManager implements IFeatureGroupManager {
 		}
 	}
 
-	private final Map<String, FeatureGroupProperties> featureGroups = Maps.newHashMap();
+	// queried during class composition (computer threads), modified by config changes and commands
+	private final ConcurrentMap<String, FeatureGroupProperties> featureGroups = Maps.newConcurrentMap();
+
+	private final AtomicInteger epoch = new AtomicInteger();
+
+	/**
+	 * Incremented every time any feature group is enabled or disabled. Known groups may be added without changing epoch
+	 */
+	public int getEpoch() {
+		return epoch.get();
+	}
 
 	private FeatureGroupProperties getOrCreate(String featureGroup) {
 		FeatureGroupProperties result = featureGroups.get(featureGroup);
 		if (result == null) {
-			result = new FeatureGroupProperties();
-			featureGroups.put(featureGroup, result);
+			final FeatureGroupProperties newProperties = new FeatureGroupProperties();
+			result = featureGroups.putIfAbsent(featureGroup, newProperties);
+			if (result == null) result = newProperties;
 		}
 
 		return result;
 	}
 
 	public void ensureExists(String featureGroup) {
-		if (!featureGroups.containsKey(featureGroup)) featureGroups.put(featureGroup, new FeatureGroupProperties());
+		getOrCreate(featureGroup);
 	}
 
 	@Override
@@ -60,13 +76,15 @@ public class FeatureGroupManager implements IFeatureGroupManager {
 	}
 
 	@Override
-	public void disable(String featureGroup, String architecture) {
+	public synchronized void disable(String featureGroup, String architecture) {
 		getOrCreate(featureGroup).disable(architecture);
+		epoch.incrementAndGet();
 	}
 
 	@Override
-	public void enable(String featureGroup, String architecture) {
+	public synchronized void enable(String featureGroup, String architecture) {
 		getOrCreate(featureGroup).enable(architecture);
+		epoch.incrementAndGet();
 	}
 
 	@Override
@@ -94,8 +112,11 @@ public class FeatureGroupManager implements IFeatureGroupManager {
 		return result.toArray(tmp);
 	}
 
-	public void loadBlacklist(String[] blacklist) {
-		featureGroups.clear();
+	public synchronized void loadBlacklist(String[] blacklist) {
+		// keeping group names, since they are collected during class composition
+		for (FeatureGroupProperties properties : featureGroups.values())
+			properties.blacklistedArchitectures.clear();
+		epoch.incrementAndGet();
 
 		if (blacklist == null) return;
 
@@ -110,6 +131,11 @@ public class FeatureGroupManager implements IFeatureGroupManager {
 		}
 	}
 
+	@SubscribeEvent
+	public void onConfigChange(ConfigurationChange evt) {
+		if (evt.check(Config.CATEGORY_FEATURE_GROUPS, Config.FIELD_FEATURE_GROUPS)) loadBlacklist(Config.featureGroupsBlacklist);
+	}
+
 	public void loadFeatureGroupsFromAnnotations(ASMDataTable asmData) {
 		for (ASMData fgAnnotation : asmData.getAll(FeatureGroup.class.getName())) {
 			@SuppressWarnings("unchecked")
@@ -6,4 +6,9 @@ public interface IMethodCall {
 
 	public Object[] call(Object... args) throws Exception;
 
+	/**
+	 * Converts arguments in current thread. Returned object performs remaining steps, which may be executed in different thread.
+	 */
+	public IPreparedCall prepare(Object... args) throws Exception;
+
 }
@@ -13,6 +13,8 @@ public interface IMethodExecutor {
 
 	public Optional<String> getReturnSignal();
 
+	public Optional<Integer> getTimeout();
+
 	public boolean canInclude(String architecture);
 
 	public Map<String, Class<?>> requiredEnv();
@@ -0,0 +1,17 @@
+package openperipheral.adapter;
+
+public interface IPreparedCall {
+
+	/**
+	 * Invokes method. Should be called in thread that owns target. Returned value must be passed to {@link #convertResult(Object)}.
+	 */
+	public Object invoke() throws Exception;
+
+	public Object[] convertResult(Object invokeResult) throws Exception;
+
+	/**
+	 * Invokes method, but skips result conversion, so result can be passed to other Java code. Can't be mixed with {@link #invoke()}.
+	 */
+	public Object invokeUnconverted() throws Exception;
+
+}
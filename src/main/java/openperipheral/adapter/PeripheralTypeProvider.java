@@ -4,6 +4,7 @@ import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
 import com.google.common.io.Closer;
+import com.google.common.io.Files;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -16,6 +17,13 @@ import java.io.PrintWriter;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.minecraft.block.Block;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
@@ -34,16 +42,63 @@ public class PeripheralTypeProvider implements IPeripheralTypeProvider {
 
 	public static final PeripheralTypeProvider INSTANCE = new PeripheralTypeProvider();
 
-	private final Map<String, String> names = Maps.newTreeMap();
+	private static final long WRITE_DELAY_MS = 2000;
+
+	private final ConcurrentMap<String, String> names = Maps.newConcurrentMap();
 
 	private File file;
 
+	private final AtomicBoolean writePending = new AtomicBoolean();
+
+	private final Object writeLock = new Object();
+
+	private final ScheduledExecutorService writeExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, "OP-names-writer");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final Runnable writeTask = new Runnable() {
+		@Override
+		public void run() {
+			if (writePending.compareAndSet(true, false)) {
+				try {
+					writeOverlayFile();
+				} catch (Throwable t) {
+					Log.warn(t, "Failed to write peripheral names");
+				}
+			}
+		}
+	};
+
 	public void initialize(File configDir) {
 		readDefaultNames();
 		this.file = new File(configDir, "peripheral_names.txt");
 		if (file.exists()) readOverlayNames();
 
 		writeOverlayFile();
+
+		Runtime.getRuntime().addShutdownHook(new Thread("OP-names-flush") {
+			@Override
+			public void run() {
+				flush();
+			}
+		});
+	}
+
+	/**
+	 * Writes pending changes immediately
+	 */
+	public void flush() {
+		writeTask.run();
+	}
+
+	// changes made in short time are batched into single write
+	private void scheduleWrite() {
+		if (file != null && writePending.compareAndSet(false, true)) writeExecutor.schedule(writeTask, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
 	}
 
 	private void readOverlayNames() {
@@ -93,24 +148,36 @@ public class PeripheralTypeProvider implements IPeripheralTypeProvider {
 
 	private void writeOverlayFile() {
 		if (file == null) return;
-		try {
-			Closer closer = Closer.create();
+		synchronized (writeLock) {
+			final File tmpFile = new File(file.getPath() + ".tmp");
 			try {
-				final OutputStream stream = closer.register(new FileOutputStream(file));
-				final PrintWriter writer = closer.register(new PrintWriter(stream));
-				writeNames(writer);
-			} finally {
-				closer.close();
+				Closer closer = Closer.create();
+				try {
+					final OutputStream stream = closer.register(new FileOutputStream(tmpFile));
+					final PrintWriter writer = closer.register(new PrintWriter(stream));
+					writeNames(writer);
+				} finally {
+					closer.close();
+				}
+
+				// rename is atomic on most platforms, but fails on Windows if target exists
+				if (!tmpFile.renameTo(file)) {
+					// not atomic, but old file is still in place if second rename is not possible at all
+					if (!(file.delete() && tmpFile.renameTo(file))) {
+						Files.copy(tmpFile, file);
+						tmpFile.delete();
+					}
+				}
+			} catch (Exception e) {
+				throw new RuntimeException("Failed to write names to " + file.getAbsolutePath(), e);
 			}
-		} catch (Exception e) {
-			throw new RuntimeException("Failed to write names to " + file.getAbsolutePath(), e);
 		}
 	}
 
 	private void writeNames(PrintWriter stream) {
 		stream.write("#OpenPeripheral user-friendly names\n");
 		stream.write("#class_name\tuser_name\n");
-		for (Map.Entry<String, String> e : names.entrySet()) {
+		for (Map.Entry<String, String> e : new TreeMap<String, String>(names).entrySet()) {
 			stream.write(e.getKey());
 			stream.write('\t');
 			stream.write(e.getValue());
@@ -123,9 +190,13 @@ public class PeripheralTypeProvider implements IPeripheralTypeProvider {
 		setType(cls.getName(), type);
 	}
 
+	/**
+	 * Null type removes entry, so name will be generated again on next use
+	 */
 	public void setType(String key, String type) {
-		names.put(key, type);
-		writeOverlayFile();
+		if (type != null) names.put(key, type);
+		else if (names.remove(key) == null) return;
+		scheduleWrite();
 	}
 
 	@Override
@@ -142,9 +213,10 @@ public class PeripheralTypeProvider implements IPeripheralTypeProvider {
 
 		if (name == null) {
 			name = create(cls, obj);
-			names.put(clsName, name);
+			final String prevName = names.putIfAbsent(clsName, name);
+			if (prevName != null) return prevName;
 
-			writeOverlayFile();
+			scheduleWrite();
 		}
 
 		return name;
@@ -4,6 +4,7 @@ import com.google.common.collect.Sets;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import openmods.Log;
 import openmods.config.properties.ConfigurationChange;
 import openperipheral.Config;
@@ -18,12 +19,19 @@ public class TileEntityBlacklist implements IPeripheralBlacklist {
 
 	private Set<String> fullBlacklist = Sets.newHashSet();
 
+	private final AtomicInteger epoch = new AtomicInteger();
+
+	public int getEpoch() {
+		return epoch.get();
+	}
+
 	@SubscribeEvent
 	public void onConfigChange(ConfigurationChange evt) {
 		if (evt.check("integration", "disableClasses")) {
 			fullBlacklist = Sets.newHashSet(imcBlacklist);
 			for (String cls : Config.teBlacklist)
 				fullBlacklist.add(cls.toLowerCase(Locale.ENGLISH));
+			epoch.incrementAndGet();
 		}
 	}
 
@@ -53,6 +61,7 @@ public class TileEntityBlacklist implements IPeripheralBlacklist {
 	@Override
 	public void addToBlacklist(String className) {
 		imcBlacklist.add(className.toLowerCase(Locale.ENGLISH));
+		epoch.incrementAndGet();
 	}
 
 	@Override
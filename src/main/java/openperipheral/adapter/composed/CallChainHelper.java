@@ -0,0 +1,85 @@
+package openperipheral.adapter.composed;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import java.util.Arrays;
+import java.util.Map;
+import openperipheral.adapter.IMethodCall;
+import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.PeripheralTypeProvider;
+import openperipheral.adapter.wrappers.CallRateLimiter;
+import openperipheral.api.Constants;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.ArgType;
+import openperipheral.api.adapter.method.Env;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.adapter.method.ScriptObject;
+import openperipheral.api.architecture.IArchitectureAccess;
+import openperipheral.api.converter.IConverter;
+
+/**
+ * Executes sequence of calls, where every step is called on object returned by previous one.
+ * Intermediate values are never converted, so only result of last step is sent to script.
+ * This method is synchronous, so whole chain is executed in single main thread task.
+ * Every step is charged to call rate limits (as synchronous call of peripheral type), same as direct call would be.
+ */
+public class CallChainHelper {
+
+	private static final Map<String, ComposedMethodsFactory<? extends IMethodMap>> objectMethods = Maps.newConcurrentMap();
+
+	public static void registerObjectMethods(String architecture, ComposedMethodsFactory<? extends IMethodMap> factory) {
+		objectMethods.put(architecture, factory);
+	}
+
+	private final Map<String, IMethodExecutor> methods;
+
+	public CallChainHelper(Map<String, IMethodExecutor> methods) {
+		this.methods = methods;
+	}
+
+	private static IMethodExecutor findObjectMethod(String architecture, Object value, String name) {
+		Preconditions.checkArgument(value != null, "Method '%s' called on nil", name);
+		final Class<?> cls = value.getClass();
+		Preconditions.checkArgument(cls.isAnnotationPresent(ScriptObject.class), "Method '%s' called on value that is not object", name);
+
+		final ComposedMethodsFactory<? extends IMethodMap> factory = objectMethods.get(architecture);
+		Preconditions.checkState(factory != null, "Call chains not supported on architecture %s", architecture);
+		return factory.getAdaptedClass(cls).getMethod(name);
+	}
+
+	@ScriptCallable(returnTypes = ReturnType.OBJECT, validateReturn = false, description = "Calls method on this peripheral, then calls next methods on returned objects. Only result of last method is returned")
+	public Object callChain(@Env(Constants.ARG_TARGET) Object owner,
+			@Env(Constants.ARG_ACCESS) IArchitectureAccess access,
+			@Env(Constants.ARG_CONVERTER) IConverter converter,
+			@Env(Constants.ARG_CONTEXT) Object context,
+			@Arg(name = "steps", type = ArgType.TABLE, description = "Method calls, as tables with method name followed by arguments, i.e. {'getStackInSlot', 3}") Object[]... steps) throws Exception {
+		Preconditions.checkArgument(steps.length > 0, "No steps given");
+
+		final String computerId = access.architecture() + ":" + access.callerName();
+		final String type = PeripheralTypeProvider.INSTANCE.generateType(owner);
+
+		Object value = owner;
+		for (int i = 0; i < steps.length; i++) {
+			final Object[] step = steps[i];
+			Preconditions.checkArgument(step.length > 0 && step[0] instanceof String, "Step %s: first element must be method name", i + 1);
+			final String name = (String)step[0];
+
+			final IMethodExecutor executor = (i == 0)? methods.get(name) : findObjectMethod(access.architecture(), value, name);
+			Preconditions.checkArgument(executor != null, "Step %s: unknown method '%s'", i + 1, name);
+
+			final long retryTime = CallRateLimiter.INSTANCE.tryAcquire(computerId, type, name, true);
+			if (retryTime > 0) throw new IllegalStateException(String.format("Step %d: %s", i + 1, CallRateLimiter.limitExceededMessage(retryTime)));
+
+			final IMethodCall call = executor.startCall(value)
+					.setEnv(Constants.ARG_CONVERTER, converter)
+					.setEnv(Constants.ARG_ARCHITECTURE, access)
+					.setEnv(Constants.ARG_ACCESS, access)
+					.setEnv(Constants.ARG_CONTEXT, context);
+
+			value = call.prepare(Arrays.copyOfRange(step, 1, step.length)).invokeUnconverted();
+		}
+
+		return value;
+	}
+}
@@ -1,6 +1,7 @@
 package openperipheral.adapter.composed;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -12,13 +13,24 @@ import java.util.Set;
 import openperipheral.Config;
 import openperipheral.adapter.AdapterRegistry;
 import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.property.PropertyGetterExecutor;
 
 public class ClassMethodsComposer {
 
 	private final Predicate<IMethodExecutor> selector;
 
+	private final List<Object> metaHelpers;
+
 	public ClassMethodsComposer(Predicate<IMethodExecutor> selector) {
+		this(selector, ImmutableList.<Object> of());
+	}
+
+	/**
+	 * @param metaHelpers stateless objects with script methods added to every composed class, like other <code>&lt;meta&gt;</code> methods
+	 */
+	public ClassMethodsComposer(Predicate<IMethodExecutor> selector, List<Object> metaHelpers) {
 		this.selector = selector;
+		this.metaHelpers = ImmutableList.copyOf(metaHelpers);
 	}
 
 	public Map<String, IMethodExecutor> createMethodsList(Class<?> cls, AdapterRegistry manager) {
@@ -43,6 +55,18 @@ public class ClassMethodsComposer {
 
 		if (!builder.hasMethods()) return ImmutableMap.of();
 
+		final Map<String, PropertyGetterExecutor> properties = PropertiesSnapshotHelper.collectProperties(builder.getMethodList());
+		// helpers must not hide adapter methods with same name
+		if (!properties.isEmpty()) {
+			builder.addMissingMethodsFromObject(new PropertiesSnapshotHelper(properties), cls, "<meta>");
+			builder.addMissingMethodsFromObject(new PropertySubscriptionHelper(properties), cls, "<meta>");
+		}
+
+		builder.addMissingMethodsFromObject(new CallChainHelper(builder.getMethodList()), cls, "<meta>");
+
+		for (Object helper : metaHelpers)
+			builder.addMissingMethodsFromObject(helper, cls, "<meta>");
+
 		builder.addMethodsFromObject(new MethodsListerHelper(builder.getMethodList(), builder.getSources()), cls, "<meta>");
 
 		return builder.create();
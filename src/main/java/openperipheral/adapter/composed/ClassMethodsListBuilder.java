@@ -14,7 +14,6 @@ import openperipheral.adapter.FeatureGroupManager;
 import openperipheral.adapter.IMethodDescription;
 import openperipheral.adapter.IMethodExecutor;
 import openperipheral.adapter.wrappers.AdapterWrapper;
-import openperipheral.adapter.wrappers.InlineAdapterWrapper;
 import openperipheral.adapter.wrappers.TechnicalAdapterWrapper;
 import openperipheral.api.adapter.AdapterSourceName;
 import openperipheral.api.peripheral.PeripheralTypeId;
@@ -41,11 +40,15 @@ public class ClassMethodsListBuilder {
 
 	public void addInlineAdapter(Class<?> rootClass, Class<?> targetClass) {
 		final String sourceId = getSourceId(targetClass);
-		AdapterWrapper wrapper = new InlineAdapterWrapper(rootClass, targetClass, sourceId);
+		AdapterWrapper wrapper = InlineAdapterCache.INSTANCE.getWrapper(rootClass, targetClass, sourceId);
 		addMethods(wrapper);
 	}
 
 	public void addMethods(AdapterWrapper wrapper) {
+		addMethods(wrapper, true);
+	}
+
+	private void addMethods(AdapterWrapper wrapper, boolean overwrite) {
 		for (IMethodExecutor executor : wrapper.getMethods()) {
 			final IMethodDescription descriptable = executor.description();
 
@@ -53,6 +56,11 @@ public class ClassMethodsListBuilder {
 				FeatureGroupManager.INSTANCE.ensureExists(fg);
 
 			if (selector.apply(executor)) {
+				if (!overwrite && isAnyNameTaken(descriptable)) {
+					Log.trace("Method %s from %s skipped, since name is already used", descriptable.getNames(), wrapper.describe());
+					continue;
+				}
+
 				sources.add(descriptable.source());
 				for (String name : descriptable.getNames()) {
 					final IMethodExecutor previous = methods.put(name, executor);
@@ -83,6 +91,20 @@ public class ClassMethodsListBuilder {
 		addMethods(new TechnicalAdapterWrapper(obj, targetCls, source));
 	}
 
+	/**
+	 * Like {@link #addMethodsFromObject(Object, Class, String)}, but never replaces methods already present in list
+	 */
+	public void addMissingMethodsFromObject(Object obj, Class<?> targetCls, String source) {
+		addMethods(new TechnicalAdapterWrapper(obj, targetCls, source), false);
+	}
+
+	private boolean isAnyNameTaken(IMethodDescription description) {
+		for (String name : description.getNames())
+			if (methods.containsKey(name)) return true;
+
+		return false;
+	}
+
 	private static String getSourceId(Class<?> cls) {
 		{
 			AdapterSourceName id = cls.getAnnotation(AdapterSourceName.class);
@@ -1,12 +1,14 @@
 package openperipheral.adapter.composed;
 
+import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import openperipheral.adapter.AdapterRegistry;
+import openperipheral.adapter.FeatureGroupManager;
 import openperipheral.adapter.IMethodExecutor;
 
 public abstract class ComposedMethodsFactory<T extends IMethodMap> {
@@ -23,40 +25,105 @@ public abstract class ComposedMethodsFactory<T extends IMethodMap> {
 		}
 	}
 
-	private final Map<Class<?>, T> classes = Maps.newHashMap();
+	// values are tagged with epoch they were composed in, so result of composition that overlapped with invalidation is never served
+	private static class CachedClass<T> {
+		private final long epoch;
+		private final T value;
 
-	private final Set<Class<?>> invalidClasses = Sets.newHashSet();
+		public CachedClass(long epoch, T value) {
+			this.epoch = epoch;
+			this.value = value;
+		}
+	}
+
+	// read from computer threads, so lookups must not need external locking
+	private final ConcurrentMap<Class<?>, CachedClass<T>> classes = Maps.newConcurrentMap();
+
+	private final ConcurrentMap<Class<?>, Long> invalidClasses = Maps.newConcurrentMap();
 
 	private final AdapterRegistry adapters;
 
 	private final ClassMethodsComposer composer;
 
+	private static final long NO_EPOCH = -1;
+
+	// sum of source epochs, so it grows every time any of them is bumped
+	private volatile long epoch = NO_EPOCH;
+
 	public ComposedMethodsFactory(AdapterRegistry adapters, Predicate<IMethodExecutor> selector) {
+		this(adapters, selector, Collections.<Object> emptyList());
+	}
+
+	public ComposedMethodsFactory(AdapterRegistry adapters, Predicate<IMethodExecutor> selector, List<Object> metaHelpers) {
 		this.adapters = adapters;
-		this.composer = new ClassMethodsComposer(selector);
+		this.composer = new ClassMethodsComposer(selector, metaHelpers);
 	}
 
 	public Map<Class<?>, T> listCollectedClasses() {
-		return Collections.unmodifiableMap(classes);
+		return Collections.unmodifiableMap(Maps.transformValues(classes, new Function<CachedClass<T>, T>() {
+			@Override
+			public T apply(CachedClass<T> input) {
+				return input.value;
+			}
+		}));
 	}
 
-	public T getAdaptedClass(Class<?> targetCls) {
-		if (invalidClasses.contains(targetCls)) throw new InvalidClassException();
-
-		T value = classes.get(targetCls);
-		if (value == null) {
-			try {
-				Map<String, IMethodExecutor> methods = composer.createMethodsList(targetCls, adapters);
-				value = wrapMethods(targetCls, methods);
-			} catch (Throwable t) {
-				invalidClasses.add(targetCls);
-				throw new InvalidClassException(t);
+	private long currentEpoch() {
+		return (long)adapters.getEpoch() + FeatureGroupManager.INSTANCE.getEpoch();
+	}
+
+	/**
+	 * Drops all composed classes if adapters or feature groups changed since they were created. Classes are recomposed lazily, on next request.
+	 * Returns epoch of cached classes, so dependent caches can be invalidated too.
+	 */
+	public long getEpoch() {
+		final long current = currentEpoch();
+		if (current > epoch) {
+			synchronized (this) {
+				if (current > epoch) {
+					final long prevEpoch = epoch;
+					// entries are checked against epoch on lookup, so clearing only releases stale ones
+					epoch = current;
+					classes.clear();
+					invalidClasses.clear();
+					if (prevEpoch != NO_EPOCH) onInvalidate();
+				}
 			}
+		}
+
+		return epoch;
+	}
+
+	protected void onInvalidate() {}
 
-			classes.put(targetCls, value);
+	public T getAdaptedClass(Class<?> targetCls) {
+		final long epoch = getEpoch();
+
+		final Long invalidEpoch = invalidClasses.get(targetCls);
+		if (invalidEpoch != null && invalidEpoch == epoch) throw new InvalidClassException();
+
+		final CachedClass<T> cached = classes.get(targetCls);
+		if (cached != null && cached.epoch == epoch) return cached.value;
+
+		final T value;
+		try {
+			Map<String, IMethodExecutor> methods = composer.createMethodsList(targetCls, adapters);
+			value = wrapMethods(targetCls, methods);
+		} catch (Throwable t) {
+			invalidClasses.put(targetCls, epoch);
+			throw new InvalidClassException(t);
 		}
 
-		return value;
+		// stale result is returned to caller, but not cached
+		if (epoch != this.epoch) return value;
+
+		final CachedClass<T> newEntry = new CachedClass<T>(epoch, value);
+		final boolean stored = cached == null? classes.putIfAbsent(targetCls, newEntry) == null : classes.replace(targetCls, cached, newEntry);
+		if (stored) return value;
+
+		// other thread was faster, prefer its result, so all callers share same instance
+		final CachedClass<T> winner = classes.get(targetCls);
+		return (winner != null && winner.epoch == epoch)? winner.value : value;
 	}
 
 	protected abstract T wrapMethods(Class<?> targetCls, Map<String, IMethodExecutor> methods);
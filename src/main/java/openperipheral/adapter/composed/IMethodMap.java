@@ -12,6 +12,8 @@ public interface IMethodMap {
 
 	public boolean isEmpty();
 
+	public IMethodExecutor getMethod(String name);
+
 	public void visitMethods(IMethodVisitor visitor);
 
 }
@@ -1,5 +1,6 @@
 package openperipheral.adapter.composed;
 
+import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 import openperipheral.adapter.IMethodExecutor;
 
@@ -7,11 +8,13 @@ public class IndexedMethodMap implements IMethodMap {
 
 	protected final String[] names;
 	protected final IMethodExecutor[] methods;
+	protected final Map<String, IMethodExecutor> namedMethods;
 
 	public IndexedMethodMap(Map<String, IMethodExecutor> methods) {
 		final int methodCount = methods.size();
 		this.names = new String[methodCount];
 		this.methods = new IMethodExecutor[methodCount];
+		this.namedMethods = ImmutableMap.copyOf(methods);
 
 		int i = 0;
 		for (Map.Entry<String, IMethodExecutor> e : methods.entrySet()) {
@@ -33,6 +36,11 @@ public class IndexedMethodMap implements IMethodMap {
 		return methods[index];
 	}
 
+	@Override
+	public IMethodExecutor getMethod(String name) {
+		return namedMethods.get(name);
+	}
+
 	public String getMethodName(int index) {
 		return names[index];
 	}
@@ -0,0 +1,77 @@
+package openperipheral.adapter.composed;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import openperipheral.adapter.wrappers.InlineAdapterWrapper;
+
+public class InlineAdapterCache {
+
+	public static final InlineAdapterCache INSTANCE = new InlineAdapterCache();
+
+	private final ConcurrentMap<Class<?>, InlineAdapterWrapper> sharedWrappers = Maps.newConcurrentMap();
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private final AtomicInteger sharedHits = new AtomicInteger();
+
+	private final AtomicInteger createdWrappers = new AtomicInteger();
+
+	private final AtomicInteger createdExecutors = new AtomicInteger();
+
+	private final AtomicInteger reusedExecutors = new AtomicInteger();
+
+	public InlineAdapterWrapper getWrapper(Class<?> rootClass, Class<?> targetClass, String source) {
+		requests.incrementAndGet();
+
+		// only type variables of target class can be resolved differently for different root classes
+		if (!isRootIndependent(targetClass)) return createWrapper(rootClass, targetClass, source);
+
+		final InlineAdapterWrapper wrapper = sharedWrappers.get(targetClass);
+		if (wrapper != null) {
+			sharedHits.incrementAndGet();
+			reusedExecutors.addAndGet(wrapper.getMethods().size());
+			return wrapper;
+		}
+
+		final InlineAdapterWrapper newWrapper = createWrapper(targetClass, targetClass, source);
+		final InlineAdapterWrapper prevWrapper = sharedWrappers.putIfAbsent(targetClass, newWrapper);
+		return prevWrapper != null? prevWrapper : newWrapper;
+	}
+
+	private InlineAdapterWrapper createWrapper(Class<?> rootClass, Class<?> targetClass, String source) {
+		final InlineAdapterWrapper wrapper = new InlineAdapterWrapper(rootClass, targetClass, source);
+		createdWrappers.incrementAndGet();
+		createdExecutors.addAndGet(wrapper.getMethods().size());
+		return wrapper;
+	}
+
+	private static boolean isRootIndependent(Class<?> cls) {
+		if (cls.getEnclosingMethod() != null || cls.getEnclosingConstructor() != null) return false;
+
+		Class<?> current = cls;
+		while (current != null) {
+			if (current.getTypeParameters().length > 0) return false;
+			if (Modifier.isStatic(current.getModifiers())) break;
+			current = current.getEnclosingClass();
+		}
+
+		return true;
+	}
+
+	public Map<String, Object> getStats() {
+		final Runtime runtime = Runtime.getRuntime();
+		return ImmutableMap.<String, Object> builder()
+				.put("requests", requests.get())
+				.put("sharedHits", sharedHits.get())
+				.put("sharedWrappers", sharedWrappers.size())
+				.put("createdWrappers", createdWrappers.get())
+				.put("createdExecutors", createdExecutors.get())
+				.put("reusedExecutors", reusedExecutors.get())
+				.put("usedHeap", runtime.totalMemory() - runtime.freeMemory())
+				.build();
+	}
+}
@@ -19,6 +19,7 @@ public class NamedMethodMap implements IMethodMap {
 		return methodNames;
 	}
 
+	@Override
 	public IMethodExecutor getMethod(String name) {
 		return methods.get(name);
 	}
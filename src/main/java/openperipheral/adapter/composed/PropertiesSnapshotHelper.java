@@ -0,0 +1,53 @@
+package openperipheral.adapter.composed;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import java.util.Map;
+import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.property.PropertyGetterExecutor;
+import openperipheral.api.Constants;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.Env;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+
+/**
+ * Reads many properties in single call. Synchronous, so all getters are executed in single main thread task.
+ */
+public class PropertiesSnapshotHelper {
+	private final Map<String, PropertyGetterExecutor> properties;
+
+	public PropertiesSnapshotHelper(Map<String, PropertyGetterExecutor> properties) {
+		this.properties = properties;
+	}
+
+	public static Map<String, PropertyGetterExecutor> collectProperties(Map<String, IMethodExecutor> methods) {
+		final Map<String, PropertyGetterExecutor> result = Maps.newHashMap();
+		for (IMethodExecutor executor : methods.values())
+			if (executor instanceof PropertyGetterExecutor) {
+				final PropertyGetterExecutor getter = (PropertyGetterExecutor)executor;
+				result.put(getter.getPropertyName(), getter);
+			}
+
+		return result;
+	}
+
+	@ScriptCallable(returnTypes = ReturnType.TABLE, description = "Get values of all (or only selected) properties in single call")
+	public Map<String, Object> getProperties(@Env(Constants.ARG_TARGET) Object owner,
+			@Arg(name = "names", description = "Names of properties to read. If empty, all properties will be returned") String... names) {
+		final Map<String, Object> result = Maps.newHashMap();
+
+		if (names.length == 0) {
+			for (Map.Entry<String, PropertyGetterExecutor> e : properties.entrySet())
+				result.put(e.getKey(), e.getValue().getValue(owner));
+		} else {
+			for (String name : names) {
+				final PropertyGetterExecutor getter = properties.get(name);
+				Preconditions.checkArgument(getter != null, "Unknown property: %s", name);
+				result.put(name, getter.getValue(owner));
+			}
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,50 @@
+package openperipheral.adapter.composed;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import java.util.Collection;
+import java.util.Map;
+import openperipheral.adapter.property.PropertyChangeWatcher;
+import openperipheral.adapter.property.PropertyGetterExecutor;
+import openperipheral.api.Constants;
+import openperipheral.api.adapter.Asynchronous;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.Env;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.architecture.IArchitectureAccess;
+
+@Asynchronous
+public class PropertySubscriptionHelper {
+	private final Map<String, PropertyGetterExecutor> properties;
+
+	public PropertySubscriptionHelper(Map<String, PropertyGetterExecutor> properties) {
+		this.properties = properties;
+	}
+
+	private Collection<PropertyGetterExecutor> selectProperties(String... names) {
+		if (names.length == 0) return properties.values();
+
+		final Collection<PropertyGetterExecutor> result = Lists.newArrayList();
+		for (String name : names) {
+			final PropertyGetterExecutor getter = properties.get(name);
+			Preconditions.checkArgument(getter != null, "Unknown property: %s", name);
+			result.add(getter);
+		}
+		return result;
+	}
+
+	@ScriptCallable(description = "Subscribe to changes of all (or only selected) properties. Changes are reported with '" + PropertyChangeWatcher.SIGNAL_NAME + "' event, at most once per tick per property")
+	public void subscribeProperties(@Env(Constants.ARG_TARGET) Object owner,
+			@Env(Constants.ARG_ACCESS) IArchitectureAccess access,
+			@Arg(name = "names", description = "Names of properties to watch. If empty, all properties will be watched") String... names) {
+		PropertyChangeWatcher.INSTANCE.subscribe(access, owner, selectProperties(names));
+	}
+
+	@ScriptCallable(description = "Remove subscriptions for all (or only selected) properties")
+	public void unsubscribeProperties(@Env(Constants.ARG_TARGET) Object owner,
+			@Env(Constants.ARG_ACCESS) IArchitectureAccess access,
+			@Arg(name = "names", description = "Names of properties to stop watching. If empty, all subscriptions will be removed") String... names) {
+		for (PropertyGetterExecutor getter : selectProperties(names))
+			PropertyChangeWatcher.INSTANCE.unsubscribe(access, owner, getter.getPropertyName());
+	}
+}
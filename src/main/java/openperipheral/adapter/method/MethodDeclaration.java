@@ -7,6 +7,7 @@ import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Primitives;
 import com.google.common.reflect.TypeToken;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
@@ -15,6 +16,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,11 +26,13 @@ import openmods.utils.AnnotationMap;
 import openperipheral.adapter.AdapterLogicException;
 import openperipheral.adapter.IMethodCall;
 import openperipheral.adapter.IMethodDescription;
+import openperipheral.adapter.IPreparedCall;
 import openperipheral.adapter.types.TypeHelper;
 import openperipheral.api.Constants;
 import openperipheral.api.adapter.IScriptType;
 import openperipheral.api.adapter.method.Alias;
 import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.DetachedResult;
 import openperipheral.api.adapter.method.Env;
 import openperipheral.api.adapter.method.IMultiReturn;
 import openperipheral.api.adapter.method.MultipleReturn;
@@ -35,6 +40,7 @@ import openperipheral.api.adapter.method.Optionals;
 import openperipheral.api.adapter.method.ReturnType;
 import openperipheral.api.adapter.method.ScriptCallable;
 import openperipheral.api.converter.IConverter;
+import openperipheral.api.helpers.MultiReturn;
 
 public class MethodDeclaration implements IMethodDescription {
 
@@ -67,6 +73,8 @@ public class MethodDeclaration implements IMethodDescription {
 
 	private final boolean multipleReturn;
 
+	private final DetachedResult detachedResult;
+
 	private final Map<Integer, Class<?>> unnamedEnvArg = Maps.newHashMap();
 
 	private final Map<String, EnvArg> envArgs = Maps.newHashMap();
@@ -108,6 +116,8 @@ public class MethodDeclaration implements IMethodDescription {
 
 		this.multipleReturn = method.isAnnotationPresent(MultipleReturn.class);
 
+		this.detachedResult = method.getAnnotation(DetachedResult.class);
+
 		this.wrappedReturn = TypeHelper.createFromReturn(returnTypes);
 
 		if (validateReturn) validateResultCount();
@@ -257,6 +267,100 @@ public class MethodDeclaration implements IMethodDescription {
 		return convertVarResult(converter, result);
 	}
 
+	private static Object snapshotContainer(Object result) {
+		if (result instanceof List) return Lists.newArrayList((List<?>)result);
+		if (result instanceof Set) return new LinkedHashSet<Object>((Set<?>)result);
+		if (result instanceof Collection) return Lists.newArrayList((Collection<?>)result);
+		if (result instanceof Map) return new LinkedHashMap<Object, Object>((Map<?, ?>)result);
+
+		if (result != null && result.getClass().isArray()) {
+			final int length = Array.getLength(result);
+			final Object copy = Array.newInstance(result.getClass().getComponentType(), length);
+			System.arraycopy(result, 0, copy, 0, length);
+			return copy;
+		}
+
+		return result;
+	}
+
+	private static Object snapshotResult(Object result) {
+		if (result instanceof IMultiReturn) {
+			final Object[] values = ((IMultiReturn)result).getObjects();
+			final Object[] copy = new Object[values.length];
+			for (int i = 0; i < values.length; i++)
+				copy[i] = snapshotContainer(values[i]);
+			return MultiReturn.wrap(copy);
+		}
+
+		return snapshotContainer(result);
+	}
+
+	private static final Object NOT_PLAIN = new Object();
+
+	private static final int MAX_PLAIN_DATA_DEPTH = 8;
+
+	// returns copy of value if it contains only immutable scalars and standard containers (so it can be converted in any thread), NOT_PLAIN otherwise
+	private static Object copyPlainData(Object value, int depth) {
+		if (value == null || value instanceof String || value instanceof Enum || Primitives.isWrapperType(value.getClass())) return value;
+		if (depth >= MAX_PLAIN_DATA_DEPTH) return NOT_PLAIN;
+
+		if (value instanceof Map) {
+			final Map<Object, Object> copy = new LinkedHashMap<Object, Object>();
+			for (Map.Entry<?, ?> e : ((Map<?, ?>)value).entrySet()) {
+				final Object key = copyPlainData(e.getKey(), depth + 1);
+				if (key == NOT_PLAIN) return NOT_PLAIN;
+				final Object entryValue = copyPlainData(e.getValue(), depth + 1);
+				if (entryValue == NOT_PLAIN) return NOT_PLAIN;
+				copy.put(key, entryValue);
+			}
+			return copy;
+		}
+
+		if (value instanceof Collection) {
+			final Collection<Object> copy = (value instanceof Set)? new LinkedHashSet<Object>() : Lists.newArrayList();
+			for (Object o : (Collection<?>)value) {
+				final Object element = copyPlainData(o, depth + 1);
+				if (element == NOT_PLAIN) return NOT_PLAIN;
+				copy.add(element);
+			}
+			return copy;
+		}
+
+		final Class<?> cls = value.getClass();
+		if (cls.isArray()) {
+			if (cls.getComponentType().isPrimitive()) return snapshotContainer(value);
+
+			final Object[] array = (Object[])value;
+			final Object[] copy = new Object[array.length];
+			for (int i = 0; i < array.length; i++) {
+				final Object element = copyPlainData(array[i], depth + 1);
+				if (element == NOT_PLAIN) return NOT_PLAIN;
+				copy[i] = element;
+			}
+			return copy;
+		}
+
+		return NOT_PLAIN;
+	}
+
+	private static Object copyPlainResult(Object result) {
+		if (result instanceof IMultiReturn) {
+			final Object copy = copyPlainData(((IMultiReturn)result).getObjects(), 0);
+			return copy != NOT_PLAIN? MultiReturn.wrap((Object[])copy) : NOT_PLAIN;
+		}
+
+		return copyPlainData(result, 0);
+	}
+
+	// marks results that were already converted in main thread
+	private static class ConvertedResult {
+		private final Object[] values;
+
+		public ConvertedResult(Object[] values) {
+			this.values = values;
+		}
+	}
+
 	private class CallWrap implements IMethodCall {
 		private final Object[] args = new Object[argCount];
 		private final boolean[] isSet = new boolean[argCount];
@@ -314,19 +418,20 @@ public class MethodDeclaration implements IMethodDescription {
 			return this;
 		}
 
-		private Object[] call() throws Exception {
+		private Object invoke() throws Exception {
 			Preconditions.checkState(converter != null, "Converter not set!");
 			for (int i = 0; i < args.length; i++)
 				Preconditions.checkState(isSet[i], "Parameter %s value not set", i);
 
-			final Object result;
 			try {
-				result = method.invoke(target, args);
+				return method.invoke(target, args);
 			} catch (InvocationTargetException e) {
 				Throwable wrapper = e.getCause();
 				throw Throwables.propagate(wrapper != null? wrapper : e);
 			}
+		}
 
+		private Object[] convert(Object result) {
 			final Object[] converted = convertResult(converter, result);
 			if (validateReturn) validateResult(converted);
 			return converted;
@@ -335,7 +440,33 @@ public class MethodDeclaration implements IMethodDescription {
 		@Override
 		public Object[] call(Object... args) throws Exception {
 			setCallArgs(args);
-			return call();
+			return convert(invoke());
+		}
+
+		@Override
+		public IPreparedCall prepare(Object... args) {
+			setCallArgs(args);
+			return new IPreparedCall() {
+				@Override
+				public Object invoke() throws Exception {
+					final Object result = CallWrap.this.invoke();
+					if (detachedResult != null) return detachedResult.snapshot()? snapshotResult(result) : result;
+
+					// plain data is copied and converted later, everything else may reference live state, so it's converted in place
+					final Object plainCopy = copyPlainResult(result);
+					return plainCopy != NOT_PLAIN? plainCopy : new ConvertedResult(convert(result));
+				}
+
+				@Override
+				public Object[] convertResult(Object invokeResult) {
+					return (invokeResult instanceof ConvertedResult)? ((ConvertedResult)invokeResult).values : convert(invokeResult);
+				}
+
+				@Override
+				public Object invokeUnconverted() throws Exception {
+					return CallWrap.this.invoke();
+				}
+			};
 		}
 	}
 
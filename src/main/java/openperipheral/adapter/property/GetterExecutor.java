@@ -5,7 +5,7 @@ import java.lang.reflect.Field;
 import openperipheral.api.converter.IConverter;
 import org.apache.commons.lang3.ArrayUtils;
 
-public class GetterExecutor implements IPropertyExecutor {
+public class GetterExecutor implements IPropertyExecutor, IPropertyValueSource {
 
 	private final Field field;
 
@@ -23,10 +23,15 @@ public class GetterExecutor implements IPropertyExecutor {
 	public Object[] call(IConverter converter, Object owner, Object... args) {
 		Preconditions.checkArgument(args.length == 0, "Getter has no arguments");
 
-		final Object target = PropertyUtils.getContents(owner, field);
-		accessHandler.onGet(owner, target, field);
-		final Object result = manipulator.getField(owner, target, field);
+		final Object result = getValue(owner);
 		final Object converted = converter.fromJava(result);
 		return ArrayUtils.toArray(converted);
 	}
+
+	@Override
+	public Object getValue(Object owner) {
+		final Object target = PropertyUtils.getContents(owner, field);
+		accessHandler.onGet(owner, target, field);
+		return manipulator.getField(owner, target, field);
+	}
 }
\ No newline at end of file
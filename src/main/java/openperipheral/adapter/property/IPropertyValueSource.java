@@ -0,0 +1,5 @@
+package openperipheral.adapter.property;
+
+public interface IPropertyValueSource {
+	public Object getValue(Object owner);
+}
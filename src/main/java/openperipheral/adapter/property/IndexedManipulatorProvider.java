@@ -1,8 +1,10 @@
 package openperipheral.adapter.property;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import openperipheral.api.adapter.IIndexedPropertyCallback;
@@ -91,6 +93,283 @@ public class IndexedManipulatorProvider {
 
 	public static final IIndexedFieldManipulator ARRAY_EXPANDING_MANIPULATOR = new ExpandingArrayFieldManipulator();
 
+	// specialized versions of array manipulators, to avoid going through java.lang.reflect.Array
+	private abstract static class PrimitiveArrayFieldManipulator extends DefaultFieldManipulator {
+
+		private final boolean isExpanding;
+
+		public PrimitiveArrayFieldManipulator(boolean isExpanding) {
+			this.isExpanding = isExpanding;
+		}
+
+		protected abstract int length(Object array);
+
+		protected abstract Object getElement(Object array, int index);
+
+		protected abstract void setElement(Object array, int index, Object value);
+
+		protected abstract Object copyOf(Object array, int length);
+
+		@Override
+		public void set(Object owner, Object target, Field field, Object index, Object value) {
+			final int i = getIndex(index);
+			Preconditions.checkArgument(value != null, "Can't store nil in primitive array");
+
+			final int length = length(target);
+			if (isExpanding) {
+				if (i < 0) throw new IllegalArgumentException("Negative index: " + i);
+				if (i >= length) {
+					target = copyOf(target, i + 1);
+					PropertyUtils.setContents(owner, field, target);
+				}
+			} else if (i < 0 || i >= length) throw new IllegalArgumentException("Failed to set value at index " + index);
+
+			setElement(target, i, value);
+		}
+
+		@Override
+		public Object get(Object owner, Object target, Field field, Object index) {
+			final int i = getIndex(index);
+			return (i >= 0 && i < length(target))? getElement(target, i) : null;
+		}
+	}
+
+	private static class BooleanArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public BooleanArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((boolean[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((boolean[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((boolean[])array)[index] = (Boolean)value;
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((boolean[])array, length);
+		}
+	}
+
+	private static class ByteArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public ByteArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((byte[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((byte[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((byte[])array)[index] = ((Number)value).byteValue();
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((byte[])array, length);
+		}
+	}
+
+	private static class ShortArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public ShortArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((short[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((short[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((short[])array)[index] = ((Number)value).shortValue();
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((short[])array, length);
+		}
+	}
+
+	private static class CharArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public CharArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((char[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((char[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((char[])array)[index] = (Character)value;
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((char[])array, length);
+		}
+	}
+
+	private static class IntArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public IntArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((int[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((int[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((int[])array)[index] = ((Number)value).intValue();
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((int[])array, length);
+		}
+	}
+
+	private static class LongArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public LongArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((long[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((long[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((long[])array)[index] = ((Number)value).longValue();
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((long[])array, length);
+		}
+	}
+
+	private static class FloatArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public FloatArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((float[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((float[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((float[])array)[index] = ((Number)value).floatValue();
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((float[])array, length);
+		}
+	}
+
+	private static class DoubleArrayFieldManipulator extends PrimitiveArrayFieldManipulator {
+		public DoubleArrayFieldManipulator(boolean isExpanding) {
+			super(isExpanding);
+		}
+
+		@Override
+		protected int length(Object array) {
+			return ((double[])array).length;
+		}
+
+		@Override
+		protected Object getElement(Object array, int index) {
+			return ((double[])array)[index];
+		}
+
+		@Override
+		protected void setElement(Object array, int index, Object value) {
+			((double[])array)[index] = ((Number)value).doubleValue();
+		}
+
+		@Override
+		protected Object copyOf(Object array, int length) {
+			return Arrays.copyOf((double[])array, length);
+		}
+	}
+
+	private static final Map<Class<?>, IIndexedFieldManipulator> PRIMITIVE_ARRAY_MANIPULATORS = ImmutableMap.<Class<?>, IIndexedFieldManipulator> builder()
+			.put(boolean[].class, new BooleanArrayFieldManipulator(false))
+			.put(byte[].class, new ByteArrayFieldManipulator(false))
+			.put(short[].class, new ShortArrayFieldManipulator(false))
+			.put(char[].class, new CharArrayFieldManipulator(false))
+			.put(int[].class, new IntArrayFieldManipulator(false))
+			.put(long[].class, new LongArrayFieldManipulator(false))
+			.put(float[].class, new FloatArrayFieldManipulator(false))
+			.put(double[].class, new DoubleArrayFieldManipulator(false))
+			.build();
+
+	private static final Map<Class<?>, IIndexedFieldManipulator> PRIMITIVE_ARRAY_EXPANDING_MANIPULATORS = ImmutableMap.<Class<?>, IIndexedFieldManipulator> builder()
+			.put(boolean[].class, new BooleanArrayFieldManipulator(true))
+			.put(byte[].class, new ByteArrayFieldManipulator(true))
+			.put(short[].class, new ShortArrayFieldManipulator(true))
+			.put(char[].class, new CharArrayFieldManipulator(true))
+			.put(int[].class, new IntArrayFieldManipulator(true))
+			.put(long[].class, new LongArrayFieldManipulator(true))
+			.put(float[].class, new FloatArrayFieldManipulator(true))
+			.put(double[].class, new DoubleArrayFieldManipulator(true))
+			.build();
+
+	public static IIndexedFieldManipulator getArrayProvider(Class<?> fieldType, boolean isExpanding) {
+		final IIndexedFieldManipulator primitiveManipulator = (isExpanding? PRIMITIVE_ARRAY_EXPANDING_MANIPULATORS : PRIMITIVE_ARRAY_MANIPULATORS).get(fieldType);
+		if (primitiveManipulator != null) return primitiveManipulator;
+		return isExpanding? ARRAY_EXPANDING_MANIPULATOR : ARRAY_MANIPULATOR;
+	}
+
 	private static class ListFieldManipulator extends GenericFieldManipulator<List<Object>> {
 		@Override
 		public void set(Object owner, List<Object> target, Field field, Object index, Object value) {
@@ -223,7 +502,7 @@ public class IndexedManipulatorProvider {
 
 		if (Map.class.isAssignableFrom(fieldType)) return isExpanding? MAP_EXPANDING_MANIPULATOR : MAP_MANIPULATOR;
 		else if (List.class.isAssignableFrom(fieldType)) return isExpanding? LIST_EXPANDING_MANIPULATOR : LIST_MANIPULATOR;
-		else if (fieldType.isArray()) return isExpanding? ARRAY_EXPANDING_MANIPULATOR : ARRAY_MANIPULATOR;
+		else if (fieldType.isArray()) return getArrayProvider(fieldType, isExpanding);
 		else if (StructHandlerProvider.instance.isStruct(fieldType)) return createStructManipulator(fieldType);
 
 		throw new IllegalArgumentException("Failed to create manipulator for " + fieldType);
@@ -0,0 +1,53 @@
+package openperipheral.adapter.property;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import java.lang.reflect.Field;
+import java.util.List;
+import openperipheral.api.converter.IConverter;
+import openperipheral.api.helpers.Index;
+import org.apache.commons.lang3.ArrayUtils;
+
+public class IndexedRangeGetterExecutor implements IPropertyExecutor {
+
+	private final Field field;
+
+	private final IIndexedFieldManipulator manipulator;
+
+	private final IIndexedPropertyAccessHandler accessHandler;
+
+	public IndexedRangeGetterExecutor(Field field, IIndexedFieldManipulator manipulator, IIndexedPropertyAccessHandler accessHandler) {
+		this.field = field;
+		this.manipulator = manipulator;
+		this.accessHandler = accessHandler;
+	}
+
+	@Override
+	public Object[] call(IConverter converter, Object owner, Object... args) {
+		Preconditions.checkArgument(args.length == 1 || args.length == 2, "Range getter should have one or two arguments (from and optional to)");
+		final Index from = (Index)converter.toJava(args[0], Index.class);
+		Preconditions.checkArgument(from != null, "Invalid start index");
+
+		final Object target = PropertyUtils.getContents(owner, field);
+		Preconditions.checkNotNull(target, "Can't index nil value");
+		final int size = IndexedRangeUtils.size(target);
+
+		final int first = Math.max(from.value, 0);
+		int last = size - 1;
+		if (args.length == 2 && args[1] != null) {
+			final Index to = (Index)converter.toJava(args[1], Index.class);
+			Preconditions.checkArgument(to != null, "Invalid end index");
+			last = Math.min(to.value, last);
+		}
+
+		final List<Object> result = Lists.newArrayList();
+		for (int i = first; i <= last; i++) {
+			final Index index = Index.fromJava(i, from.offset);
+			accessHandler.onGet(owner, target, field, index);
+			result.add(manipulator.getField(owner, target, field, index));
+		}
+
+		final Object converted = converter.fromJava(result);
+		return ArrayUtils.toArray(converted);
+	}
+}
@@ -0,0 +1,75 @@
+package openperipheral.adapter.property;
+
+import com.google.common.base.Preconditions;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.List;
+import openperipheral.api.converter.IConverter;
+import openperipheral.api.helpers.Index;
+import openperipheral.converter.TypeConverter;
+import org.apache.commons.lang3.ArrayUtils;
+
+public class IndexedRangeSetterExecutor implements IPropertyExecutor {
+
+	private final Field field;
+
+	private final IIndexedFieldManipulator manipulator;
+
+	private final IndexedTypeInfo typeInfo;
+
+	private final IIndexedPropertyAccessHandler accessHandler;
+
+	private final boolean nullable;
+
+	private final boolean expandable;
+
+	public IndexedRangeSetterExecutor(Field field, IIndexedFieldManipulator manipulator, IndexedTypeInfo typeInfo, IIndexedPropertyAccessHandler accessHandler, boolean nullable, boolean expandable) {
+		this.field = field;
+		this.manipulator = manipulator;
+		this.typeInfo = typeInfo;
+		this.accessHandler = accessHandler;
+		this.nullable = nullable;
+		this.expandable = expandable;
+	}
+
+	@Override
+	public Object[] call(IConverter converter, Object owner, Object... args) {
+		Preconditions.checkArgument(args.length == 2, "Range setter must have exactly two arguments (start index and values)");
+		final Index from = (Index)converter.toJava(args[0], Index.class);
+		Preconditions.checkArgument(from != null, "Invalid start index");
+
+		final List<?> values = (List<?>)converter.toJava(args[1], List.class);
+		Preconditions.checkArgument(values != null, "Invalid list of values");
+		if (values.isEmpty()) return ArrayUtils.EMPTY_OBJECT_ARRAY;
+
+		// all values are converted and range is checked before first write, so errors will not leave container partially modified
+		final Object initialTarget = PropertyUtils.getContents(owner, field);
+		final int count = values.size();
+		final long end = (long)from.value + count;
+		if (from.value < 0 || (!expandable && end > IndexedRangeUtils.size(initialTarget))) throw new IllegalArgumentException("Failed to set values at range " + from + " - " + (end - 1 + from.offset));
+
+		final Index[] indices = new Index[count];
+		final Object[] convertedValues = new Object[count];
+		for (int i = 0; i < count; i++) {
+			final Index index = Index.fromJava(from.value + i, from.offset);
+			final Type valueType = typeInfo.getValueType(initialTarget, index);
+			indices[i] = index;
+			convertedValues[i] = TypeConverter.nullableToJava(converter, nullable, values.get(i), valueType);
+		}
+
+		// last element first, so expanding containers are resized at most once
+		final int lastOffset = count - 1;
+		setElement(owner, initialTarget, indices[lastOffset], convertedValues[lastOffset]);
+
+		final Object target = PropertyUtils.getContents(owner, field);
+		for (int i = 0; i < lastOffset; i++)
+			setElement(owner, target, indices[i], convertedValues[i]);
+
+		return ArrayUtils.EMPTY_OBJECT_ARRAY;
+	}
+
+	private void setElement(Object owner, Object target, Index index, Object value) {
+		accessHandler.onSet(owner, target, field, index, value);
+		manipulator.setField(owner, target, field, index, value);
+	}
+}
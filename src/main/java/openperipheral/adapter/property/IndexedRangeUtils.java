@@ -0,0 +1,16 @@
+package openperipheral.adapter.property;
+
+import java.lang.reflect.Array;
+import java.util.List;
+
+public class IndexedRangeUtils {
+
+	public static boolean isSupported(Class<?> fieldType) {
+		return fieldType.isArray() || List.class.isAssignableFrom(fieldType);
+	}
+
+	public static int size(Object target) {
+		if (target instanceof List) return ((List<?>)target).size();
+		return Array.getLength(target);
+	}
+}
@@ -5,7 +5,7 @@ import java.lang.reflect.Field;
 import openperipheral.api.converter.IConverter;
 import org.apache.commons.lang3.ArrayUtils;
 
-public class MergedGetterExecutor implements IPropertyExecutor {
+public class MergedGetterExecutor implements IPropertyExecutor, IPropertyValueSource {
 
 	private final Field field;
 
@@ -32,9 +32,7 @@ public class MergedGetterExecutor implements IPropertyExecutor {
 	public Object[] call(IConverter converter, Object owner, Object... args) {
 		final Object result;
 		if (args.length == 0) {
-			final Object target = PropertyUtils.getContents(owner, field);
-			singleAccessHandler.onGet(owner, target, field);
-			result = manipulator.getField(owner, target, field);
+			result = getValue(owner);
 		} else if (args.length == 1) {
 			final Object key = converter.toJava(args[0], indexedTypeInfo.keyType);
 			Preconditions.checkArgument(key != null, "Invalid index");
@@ -49,4 +47,11 @@ public class MergedGetterExecutor implements IPropertyExecutor {
 		return ArrayUtils.toArray(converted);
 	}
 
+	@Override
+	public Object getValue(Object owner) {
+		final Object target = PropertyUtils.getContents(owner, field);
+		singleAccessHandler.onGet(owner, target, field);
+		return manipulator.getField(owner, target, field);
+	}
+
 }
@@ -0,0 +1,194 @@
+package openperipheral.adapter.property;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import net.minecraft.tileentity.TileEntity;
+import openmods.Log;
+import openperipheral.Config;
+import openperipheral.api.adapter.method.ScriptObject;
+import openperipheral.api.architecture.IArchitectureAccess;
+
+/**
+ * Checks values of subscribed properties once per server tick and signals computers when they change.
+ * Signal arguments: peripheral name, property name, new value.
+ * Owners are only weakly referenced, so subscriptions never keep objects alive.
+ * Every subscription costs getter call and conversion on every tick, so number of subscriptions per computer is limited.
+ */
+public class PropertyChangeWatcher {
+
+	public static final String SIGNAL_NAME = "op_property_changed";
+
+	public static final PropertyChangeWatcher INSTANCE = new PropertyChangeWatcher();
+
+	private static class Key {
+		private final String architecture;
+		private final String callerName;
+		private final String peripheralName;
+		private final WeakReference<Object> owner;
+		private final int ownerHash;
+		private final String propertyName;
+
+		public Key(IArchitectureAccess access, Object owner, String propertyName) {
+			this.architecture = access.architecture();
+			this.callerName = access.callerName();
+			this.peripheralName = access.peripheralName();
+			this.owner = new WeakReference<Object>(owner);
+			this.ownerHash = System.identityHashCode(owner);
+			this.propertyName = propertyName;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(architecture, callerName, peripheralName, ownerHash, propertyName);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof Key)) return false;
+			final Key other = (Key)obj;
+			final Object owner = this.owner.get();
+			return owner != null && other.owner.get() == owner &&
+					Objects.equal(other.architecture, architecture) &&
+					Objects.equal(other.callerName, callerName) &&
+					Objects.equal(other.peripheralName, peripheralName) &&
+					Objects.equal(other.propertyName, propertyName);
+		}
+	}
+
+	private static String computerId(IArchitectureAccess access) {
+		return access.architecture() + ":" + access.callerName();
+	}
+
+	private static boolean isScriptObject(Object value) {
+		return value != null && value.getClass().isAnnotationPresent(ScriptObject.class);
+	}
+
+	private static class Subscription {
+		private final IArchitectureAccess access;
+		private final WeakReference<Object> owner;
+		private final PropertyGetterExecutor getter;
+		private final String peripheralName;
+		private final String computerId;
+
+		private boolean hasValue;
+		private Object lastState;
+
+		public Subscription(IArchitectureAccess access, Object owner, PropertyGetterExecutor getter) {
+			this.access = access;
+			this.owner = new WeakReference<Object>(owner);
+			this.getter = getter;
+			this.peripheralName = access.peripheralName();
+			this.computerId = computerId(access);
+		}
+
+		public boolean isValid() {
+			final Object owner = this.owner.get();
+			if (owner == null) return false;
+			if (owner instanceof TileEntity && ((TileEntity)owner).isInvalid()) return false;
+			return access.canSignal();
+		}
+
+		public void check() {
+			final Object owner = this.owner.get();
+			if (owner == null) return;
+			final Object value = getter.getValue(owner);
+
+			// script objects are converted to new wrapper every time, so only change of type is reported
+			final boolean isScriptObject = isScriptObject(value);
+			final Object state = isScriptObject? value.getClass() : access.getConverter().fromJava(value);
+
+			if (hasValue && !Arrays.deepEquals(new Object[] { state }, new Object[] { lastState })) {
+				final Object converted = isScriptObject? access.getConverter().fromJava(value) : state;
+				access.signal(SIGNAL_NAME, peripheralName, getter.getPropertyName(), converted);
+			}
+
+			lastState = state;
+			hasValue = true;
+		}
+	}
+
+	private final ConcurrentMap<Key, Subscription> subscriptions = Maps.newConcurrentMap();
+
+	// guarded by this, only modified when subscriptions are added or removed
+	private final Map<String, Integer> subscriptionCounts = Maps.newHashMap();
+
+	private int getCount(String computerId) {
+		final Integer count = subscriptionCounts.get(computerId);
+		return count != null? count : 0;
+	}
+
+	private synchronized void onRemoved(Subscription subscription) {
+		final int count = getCount(subscription.computerId) - 1;
+		if (count > 0) subscriptionCounts.put(subscription.computerId, count);
+		else subscriptionCounts.remove(subscription.computerId);
+	}
+
+	/**
+	 * Adds subscriptions for all getters, or none, if that would exceed per-computer limit. Properties that are already watched are skipped.
+	 */
+	public synchronized void subscribe(IArchitectureAccess access, Object owner, Collection<PropertyGetterExecutor> getters) {
+		final Map<Key, PropertyGetterExecutor> newKeys = Maps.newLinkedHashMap();
+		for (PropertyGetterExecutor getter : getters) {
+			final Key key = new Key(access, owner, getter.getPropertyName());
+			if (!subscriptions.containsKey(key)) newKeys.put(key, getter);
+		}
+
+		if (newKeys.isEmpty()) return;
+
+		final String computerId = computerId(access);
+		final int count = getCount(computerId);
+		final int limit = Config.maxPropertySubscriptions;
+		Preconditions.checkState(limit <= 0 || count + newKeys.size() <= limit, "Too many property subscriptions, limit is %s per computer", limit);
+
+		for (Map.Entry<Key, PropertyGetterExecutor> e : newKeys.entrySet())
+			subscriptions.put(e.getKey(), new Subscription(access, owner, e.getValue()));
+
+		subscriptionCounts.put(computerId, count + newKeys.size());
+	}
+
+	public boolean unsubscribe(IArchitectureAccess access, Object owner, String propertyName) {
+		final Subscription subscription = subscriptions.remove(new Key(access, owner, propertyName));
+		if (subscription == null) return false;
+		onRemoved(subscription);
+		return true;
+	}
+
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent evt) {
+		if (evt.phase == Phase.END) checkSubscriptions();
+	}
+
+	private void remove(Key key, Subscription subscription) {
+		// may be already removed by unsubscribe, so count is updated only by thread that actually removed it
+		if (subscriptions.remove(key, subscription)) onRemoved(subscription);
+	}
+
+	public void checkSubscriptions() {
+		if (subscriptions.isEmpty()) return;
+
+		for (Map.Entry<Key, Subscription> e : subscriptions.entrySet()) {
+			final Subscription subscription = e.getValue();
+			if (!subscription.isValid()) {
+				remove(e.getKey(), subscription);
+				continue;
+			}
+
+			try {
+				subscription.check();
+			} catch (Throwable t) {
+				Log.warn(t, "Failed to check value of property %s on %s, removing subscription", subscription.getter.getPropertyName(), subscription.owner.get());
+				remove(e.getKey(), subscription);
+			}
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package openperipheral.adapter.property;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import java.util.List;
@@ -7,6 +8,7 @@ import openperipheral.adapter.ArgumentDescriptionBase;
 import openperipheral.adapter.IMethodDescription;
 import openperipheral.adapter.IMethodDescription.IArgumentDescription;
 import openperipheral.adapter.types.AlternativeType;
+import openperipheral.adapter.types.ListType;
 import openperipheral.adapter.types.SingleType;
 import openperipheral.adapter.types.TypeHelper;
 import openperipheral.api.adapter.IScriptType;
@@ -15,6 +17,9 @@ import org.apache.commons.lang3.StringUtils;
 public class PropertyDescriptionBuilder {
 	private static final String ARG_VALUE = "value";
 	private static final String ARG_INDEX = "index";
+	private static final String ARG_FROM = "from";
+	private static final String ARG_TO = "to";
+	private static final String ARG_VALUES = "values";
 
 	private static class IndexArgumentDescription extends ArgumentDescriptionBase {
 		private final boolean isOptional;
@@ -97,6 +102,30 @@ public class PropertyDescriptionBuilder {
 		return new SimpleMethodDescription(methodName, description, source, arguments, returnType);
 	}
 
+	public IMethodDescription buildRangeSetter() {
+		Preconditions.checkState(buildIndexedProperty, "Range setter requires indexed property");
+		String description = Strings.isNullOrEmpty(this.description)? "Set elements of field '" + name + "' starting from given index" : this.description;
+		final String methodName = "set" + capitalizedName + "Range";
+
+		final List<IArgumentDescription> arguments = Lists.newArrayList();
+		arguments.add(new IndexArgumentDescription(ARG_FROM, indexKeyType, "", false));
+		arguments.add(new ArgumentDescriptionBase(ARG_VALUES, new ListType(indexValueType), ""));
+
+		return new SimpleMethodDescription(methodName, description, source, arguments, SingleType.VOID);
+	}
+
+	public IMethodDescription buildRangeGetter() {
+		Preconditions.checkState(buildIndexedProperty, "Range getter requires indexed property");
+		String description = Strings.isNullOrEmpty(this.description)? "Get elements of field '" + name + "' between given indices (inclusive)" : this.description;
+		final String methodName = "get" + capitalizedName + "Range";
+
+		final List<IArgumentDescription> arguments = Lists.newArrayList();
+		arguments.add(new IndexArgumentDescription(ARG_FROM, indexKeyType, "", false));
+		arguments.add(new IndexArgumentDescription(ARG_TO, indexKeyType, "", true));
+
+		return new SimpleMethodDescription(methodName, description, source, arguments, new ListType(indexValueType));
+	}
+
 	private IScriptType calculateValueType() {
 		if (buildIndexedProperty && buildSingleProperty) {
 			if (TypeHelper.compareTypes(singleValueType, indexValueType)) {
@@ -7,9 +7,11 @@ import java.util.Map;
 import java.util.Set;
 import openperipheral.adapter.IMethodCall;
 import openperipheral.adapter.IMethodDescription;
+import openperipheral.adapter.IPreparedCall;
 import openperipheral.adapter.RestrictedMethodExecutor;
 import openperipheral.api.Constants;
 import openperipheral.api.converter.IConverter;
+import openperipheral.api.helpers.MultiReturn;
 
 public class PropertyExecutor extends RestrictedMethodExecutor {
 
@@ -46,6 +48,28 @@ public class PropertyExecutor extends RestrictedMethodExecutor {
 				Preconditions.checkNotNull(converter, "Converter not provided");
 				return caller.call(converter, target, args);
 			}
+
+			@Override
+			public IPreparedCall prepare(final Object... args) {
+				// properties are always asynchronous, so there is no reason to split conversion
+				return new IPreparedCall() {
+					@Override
+					public Object invoke() {
+						return call(args);
+					}
+
+					@Override
+					public Object[] convertResult(Object invokeResult) {
+						return (Object[])invokeResult;
+					}
+
+					@Override
+					public Object invokeUnconverted() {
+						// property callers always convert values, so returning already converted ones
+						return MultiReturn.wrap(call(args));
+					}
+				};
+			}
 		};
 	}
 
@@ -59,6 +83,11 @@ public class PropertyExecutor extends RestrictedMethodExecutor {
 		return Optional.absent();
 	}
 
+	@Override
+	public Optional<Integer> getTimeout() {
+		return Optional.absent();
+	}
+
 	@Override
 	public Map<String, Class<?>> requiredEnv() {
 		return NEEDED_ENV;
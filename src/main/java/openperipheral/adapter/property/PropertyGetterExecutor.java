@@ -0,0 +1,25 @@
+package openperipheral.adapter.property;
+
+import java.util.Set;
+import openperipheral.adapter.IMethodDescription;
+
+public class PropertyGetterExecutor extends PropertyExecutor {
+
+	private final String propertyName;
+
+	private final IPropertyValueSource valueSource;
+
+	public <T extends IPropertyExecutor & IPropertyValueSource> PropertyGetterExecutor(String propertyName, IMethodDescription description, T caller, Set<String> excludedArchitectures, Set<String> featureGroups) {
+		super(description, caller, excludedArchitectures, featureGroups);
+		this.propertyName = propertyName;
+		this.valueSource = caller;
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	public Object getValue(Object owner) {
+		return valueSource.getValue(owner);
+	}
+}
@@ -20,6 +20,7 @@ import openperipheral.api.adapter.IndexedCallbackProperty;
 import openperipheral.api.adapter.IndexedProperty;
 import openperipheral.api.adapter.Property;
 import openperipheral.api.adapter.method.ArgType;
+import openperipheral.api.helpers.Index;
 import openperipheral.api.property.GetTypeFromField;
 import openperipheral.api.property.IIndexedPropertyListener;
 import openperipheral.api.property.ISinglePropertyListener;
@@ -184,6 +185,13 @@ public class PropertyListBuilder {
 		final IIndexedFieldManipulator fieldManipulator = IndexedManipulatorProvider.getProvider(field.getType(), params.isDelegating, params.expandable);
 		output.add(createIndexedPropertyGetter(params, fieldManipulator));
 		if (!params.readOnly) output.add(createIndexedPropertySetter(params, fieldManipulator));
+		addRangePropertyMethods(output, params, fieldManipulator);
+	}
+
+	private void addRangePropertyMethods(List<IMethodExecutor> output, IndexedParameters params, IIndexedFieldManipulator fieldManipulator) {
+		if (params.isDelegating || params.typeInfo.keyType != Index.class || !IndexedRangeUtils.isSupported(field.getType())) return;
+		output.add(createRangePropertyGetter(params, fieldManipulator));
+		if (!params.readOnly) output.add(createRangePropertySetter(params, fieldManipulator));
 	}
 
 	private void addMergedPropertyMethods(List<IMethodExecutor> output, SingleParameters singleParameters, IndexedParameters indexedParameters) {
@@ -203,6 +211,8 @@ public class PropertyListBuilder {
 		} else if (!singleParameters.readOnly) {
 			output.add(createSinglePropertySetter(singleParameters, singleFieldManipulator));
 		}
+
+		addRangePropertyMethods(output, indexedParameters, indexedFieldManipulator);
 	}
 
 	private PropertyExecutor createPropertyExecutor(IMethodDescription description, IPropertyExecutor caller) {
@@ -214,8 +224,8 @@ public class PropertyListBuilder {
 		descriptionBuilder.addSingleParameter(params.typeInfo);
 		if (!Strings.isNullOrEmpty(params.getterDescription)) descriptionBuilder.overrideDescription(params.getterDescription);
 		final IMethodDescription description = descriptionBuilder.buildGetter();
-		final IPropertyExecutor caller = new GetterExecutor(field, fieldManipulator, singleAccessHandler);
-		return createPropertyExecutor(description, caller);
+		final GetterExecutor caller = new GetterExecutor(field, fieldManipulator, singleAccessHandler);
+		return new PropertyGetterExecutor(params.name, description, caller, excludedArchitectures, featureGroups);
 	}
 
 	private IMethodExecutor createSinglePropertySetter(SingleParameters params, final IFieldManipulator fieldManipulator) {
@@ -249,6 +259,22 @@ public class PropertyListBuilder {
 		return createPropertyExecutor(description, caller);
 	}
 
+	private IMethodExecutor createRangePropertyGetter(IndexedParameters params, final IIndexedFieldManipulator fieldManipulator) {
+		final PropertyDescriptionBuilder descriptionBuilder = new PropertyDescriptionBuilder(params.name, source);
+		descriptionBuilder.addIndexParameter(params.typeInfo);
+		final IMethodDescription description = descriptionBuilder.buildRangeGetter();
+		final IPropertyExecutor caller = new IndexedRangeGetterExecutor(field, fieldManipulator, indexedAccessHandler);
+		return createPropertyExecutor(description, caller);
+	}
+
+	private IMethodExecutor createRangePropertySetter(IndexedParameters params, final IIndexedFieldManipulator fieldManipulator) {
+		final PropertyDescriptionBuilder descriptionBuilder = new PropertyDescriptionBuilder(params.name, source);
+		descriptionBuilder.addIndexParameter(params.typeInfo);
+		final IMethodDescription description = descriptionBuilder.buildRangeSetter();
+		final IPropertyExecutor caller = new IndexedRangeSetterExecutor(field, fieldManipulator, params.typeInfo, indexedAccessHandler, params.valueNullable, params.expandable);
+		return createPropertyExecutor(description, caller);
+	}
+
 	private IMethodExecutor createMergedPropertyGetter(SingleParameters singleParameters, IFieldManipulator singleFieldManipulator, IndexedParameters indexedParameters, IIndexedFieldManipulator indexedFieldManipulator) {
 		final PropertyDescriptionBuilder descriptionBuilder = new PropertyDescriptionBuilder(singleParameters.name, source);
 		descriptionBuilder.addSingleParameter(singleParameters.typeInfo);
@@ -258,8 +284,8 @@ public class PropertyListBuilder {
 		else if (!Strings.isNullOrEmpty(indexedParameters.getterDescription)) descriptionBuilder.overrideDescription(indexedParameters.getterDescription);
 
 		final IMethodDescription description = descriptionBuilder.buildGetter();
-		final IPropertyExecutor caller = new MergedGetterExecutor(field, singleFieldManipulator, singleAccessHandler, indexedFieldManipulator, indexedParameters.typeInfo, indexedAccessHandler);
-		return createPropertyExecutor(description, caller);
+		final MergedGetterExecutor caller = new MergedGetterExecutor(field, singleFieldManipulator, singleAccessHandler, indexedFieldManipulator, indexedParameters.typeInfo, indexedAccessHandler);
+		return new PropertyGetterExecutor(singleParameters.name, description, caller, excludedArchitectures, featureGroups);
 	}
 
 	private IMethodExecutor createMergedPropertySetter(SingleParameters singleParameters, IFieldManipulator singleFieldManipulator, IndexedParameters indexedParameters, IIndexedFieldManipulator indexedFieldManipulator) {
@@ -1,9 +1,11 @@
 package openperipheral.adapter.types.classifier;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import openperipheral.api.adapter.IScriptType;
 import openperipheral.api.adapter.ITypeClassifier;
 
@@ -26,7 +28,13 @@ public class TypeClassifier implements ITypeClassifier {
 
 	public static final TypeClassifier INSTANCE = new TypeClassifier();
 
-	private final List<IGenericClassifier> classifiers = Lists.newArrayList();
+	private final List<IGenericClassifier> classifiers = new CopyOnWriteArrayList<IGenericClassifier>();
+
+	// replaced on every registration, since new classifier may change results. Replacing (instead of clearing) discards results of classifications that were started before registration
+	private volatile ConcurrentMap<Type, IScriptType> classifiedTypes = Maps.newConcurrentMap();
+
+	// script types have no equality, but are fully described by class and description
+	private final ConcurrentMap<String, IScriptType> internedTypes = Maps.newConcurrentMap();
 
 	public TypeClassifier() {
 		registerDefaultClassifiers();
@@ -39,11 +47,13 @@ public class TypeClassifier implements ITypeClassifier {
 	@Override
 	public void registerClassifier(IGenericClassifier classifier) {
 		classifiers.add(classifier);
+		classifiedTypes = Maps.newConcurrentMap();
 	}
 
 	@Override
 	public void registerClassifier(IClassClassifier classifier) {
 		classifiers.add(new ClassQualifierAdapter(classifier));
+		classifiedTypes = Maps.newConcurrentMap();
 	}
 
 	@Override
@@ -55,10 +65,29 @@ public class TypeClassifier implements ITypeClassifier {
 				return (match.isAssignableFrom(t))? type : null;
 			}
 		});
+		classifiedTypes = Maps.newConcurrentMap();
 	}
 
 	@Override
 	public IScriptType classifyType(Type type) {
+		// must be read before classifiers, so stale result can only end in already replaced map
+		final ConcurrentMap<Type, IScriptType> cache = classifiedTypes;
+		IScriptType result = cache.get(type);
+		if (result == null) {
+			result = intern(classifyUncached(type));
+			cache.putIfAbsent(type, result);
+		}
+
+		return result;
+	}
+
+	private IScriptType intern(IScriptType type) {
+		final String key = type.getClass().getName() + ":" + type.describe();
+		final IScriptType prev = internedTypes.putIfAbsent(key, type);
+		return prev != null? prev : type;
+	}
+
+	private IScriptType classifyUncached(Type type) {
 		for (IGenericClassifier c : classifiers) {
 			IScriptType result = c.classify(this, type);
 			if (result != null) return result;
@@ -0,0 +1,169 @@
+package openperipheral.adapter.wrappers;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import openperipheral.Config;
+
+/**
+ * Token bucket limits for calls, applied on three levels: computer, computer+peripheral type and computer+peripheral type+method.
+ * Synchronous (main thread) and asynchronous calls have separate budgets.
+ * When no limits are configured, calls never touch any shared state.
+ */
+public class CallRateLimiter {
+
+	public static final CallRateLimiter INSTANCE = new CallRateLimiter();
+
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private static final long IDLE_BUCKET_TIMEOUT = TimeUnit.MINUTES.toNanos(1);
+
+	private static final int CLEANUP_INTERVAL = 1024;
+
+	// all fields guarded by bucket monitor
+	private static class Bucket {
+		private double tokens;
+		private long lastUpdate;
+
+		public Bucket(double capacity, long now) {
+			this.tokens = capacity;
+			this.lastUpdate = now;
+		}
+
+		private void refill(double rate, double capacity, long now) {
+			// time is sampled before locking, so other thread may have already used later one
+			if (now - lastUpdate <= 0) return;
+			tokens = Math.min(capacity, tokens + (now - lastUpdate) * rate / NANOS_PER_SECOND);
+			lastUpdate = now;
+		}
+
+		public long nanosUntilAvailable(double rate) {
+			return tokens >= 1? 0 : (long)Math.ceil((1 - tokens) * NANOS_PER_SECOND / rate);
+		}
+
+		public synchronized boolean isIdle(long now) {
+			return now - lastUpdate > IDLE_BUCKET_TIMEOUT;
+		}
+	}
+
+	private final ConcurrentMap<String, Bucket> buckets = Maps.newConcurrentMap();
+
+	private final AtomicInteger callsSinceCleanup = new AtomicInteger();
+
+	private final AtomicLong allowedSyncCalls = new AtomicLong();
+
+	private final AtomicLong allowedAsyncCalls = new AtomicLong();
+
+	private final AtomicLong throttledSyncCalls = new AtomicLong();
+
+	private final AtomicLong throttledAsyncCalls = new AtomicLong();
+
+	public static String limitExceededMessage(long retryTime) {
+		return String.format("Call rate limit exceeded, retry after %d ms", retryTime);
+	}
+
+	private static int computerLimit(boolean isSync) {
+		return isSync? Config.computerSyncCallRate : Config.computerAsyncCallRate;
+	}
+
+	private static int peripheralLimit(boolean isSync) {
+		return isSync? Config.peripheralSyncCallRate : Config.peripheralAsyncCallRate;
+	}
+
+	private static int methodLimit(boolean isSync) {
+		return isSync? Config.methodSyncCallRate : Config.methodAsyncCallRate;
+	}
+
+	private Bucket getBucket(String key, int rate, long now) {
+		if (rate <= 0) return null;
+
+		final Bucket bucket = buckets.get(key);
+		if (bucket != null) return bucket;
+
+		final Bucket newBucket = new Bucket(capacity(rate), now);
+		final Bucket prevBucket = buckets.putIfAbsent(key, newBucket);
+		return prevBucket != null? prevBucket : newBucket;
+	}
+
+	private static double capacity(int rate) {
+		return Math.max(1, rate * Config.callRateBurstSeconds);
+	}
+
+	/**
+	 * Locks all non-null buckets (always in same order: computer, peripheral, method), then checks and consumes tokens
+	 */
+	private static long tryConsume(Bucket[] buckets, int[] rates, int index, long now) {
+		if (index < buckets.length) {
+			final Bucket bucket = buckets[index];
+			if (bucket == null) return tryConsume(buckets, rates, index + 1, now);
+
+			synchronized (bucket) {
+				bucket.refill(rates[index], capacity(rates[index]), now);
+				return tryConsume(buckets, rates, index + 1, now);
+			}
+		}
+
+		long waitTime = 0;
+		for (int i = 0; i < buckets.length; i++)
+			if (buckets[i] != null) waitTime = Math.max(waitTime, buckets[i].nanosUntilAvailable(rates[i]));
+
+		if (waitTime == 0) {
+			for (Bucket bucket : buckets)
+				if (bucket != null) bucket.tokens -= 1;
+		}
+
+		return waitTime;
+	}
+
+	/**
+	 * @return 0 if call is allowed, otherwise number of milliseconds after which it may be retried
+	 */
+	public long tryAcquire(String computer, String peripheralType, String method, boolean isSync) {
+		final int computerRate = computerLimit(isSync);
+		final int peripheralRate = peripheralLimit(isSync);
+		final int methodRate = methodLimit(isSync);
+		if (computerRate <= 0 && peripheralRate <= 0 && methodRate <= 0) return 0;
+
+		final long now = System.nanoTime();
+		if (callsSinceCleanup.incrementAndGet() % CLEANUP_INTERVAL == 0) removeIdleBuckets(now);
+
+		final String prefix = isSync? "sync:" : "async:";
+		final String computerKey = prefix + computer;
+		final String peripheralKey = computerKey + "|" + peripheralType;
+
+		final Bucket[] buckets = new Bucket[] {
+				getBucket(computerKey, computerRate, now),
+				getBucket(peripheralKey, peripheralRate, now),
+				getBucket(peripheralKey + "|" + method, methodRate, now)
+		};
+
+		final long waitTime = tryConsume(buckets, new int[] { computerRate, peripheralRate, methodRate }, 0, now);
+
+		if (waitTime > 0) {
+			(isSync? throttledSyncCalls : throttledAsyncCalls).incrementAndGet();
+			return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitTime));
+		}
+
+		(isSync? allowedSyncCalls : allowedAsyncCalls).incrementAndGet();
+		return 0;
+	}
+
+	private void removeIdleBuckets(long now) {
+		for (Map.Entry<String, Bucket> e : buckets.entrySet())
+			if (e.getValue().isIdle(now)) buckets.remove(e.getKey(), e.getValue());
+	}
+
+	public Map<String, Object> getStats() {
+		return ImmutableMap.<String, Object> builder()
+				.put("allowedSyncCalls", allowedSyncCalls.get())
+				.put("allowedAsyncCalls", allowedAsyncCalls.get())
+				.put("throttledSyncCalls", throttledSyncCalls.get())
+				.put("throttledAsyncCalls", throttledAsyncCalls.get())
+				.put("buckets", buckets.size())
+				.build();
+	}
+}
@@ -3,6 +3,7 @@ package openperipheral.adapter.wrappers;
 import com.google.common.base.Optional;
 import java.lang.reflect.Method;
 import java.util.Map;
+import openperipheral.Config;
 import openperipheral.adapter.AnnotationMetaExtractor;
 import openperipheral.adapter.IMethodCall;
 import openperipheral.adapter.IMethodDescription;
@@ -17,11 +18,23 @@ public abstract class MethodExecutorBase extends RestrictedMethodExecutor {
 
 	private final Optional<String> returnSignal;
 
+	private final Optional<Integer> timeout;
+
+	private final Method verifiedMethod;
+
 	public MethodExecutorBase(MethodDeclaration decl, Method method, AnnotationMetaExtractor info) {
 		super(info.getExcludedArchitectures(method), info.getFeatureGroups(method));
 		this.decl = decl;
 		this.isAsynchronous = info.isAsync(method);
 		this.returnSignal = info.getReturnSignal(method);
+		this.timeout = info.getTimeout(method);
+
+		if (isAsynchronous && Config.verifyThreadSafety && info.isThreadSafe(method)) {
+			ThreadSafetyVerifier.verifyDeclaration(method);
+			this.verifiedMethod = method;
+		} else {
+			this.verifiedMethod = null;
+		}
 	}
 
 	@Override
@@ -39,6 +52,11 @@ public abstract class MethodExecutorBase extends RestrictedMethodExecutor {
 		return returnSignal;
 	}
 
+	@Override
+	public Optional<Integer> getTimeout() {
+		return timeout;
+	}
+
 	@Override
 	public Map<String, Class<?>> requiredEnv() {
 		return decl.getOptionalArgs();
@@ -46,7 +64,8 @@ public abstract class MethodExecutorBase extends RestrictedMethodExecutor {
 
 	@Override
 	public IMethodCall startCall(Object target) {
-		return decl.startCall(target);
+		final IMethodCall call = decl.startCall(target);
+		return verifiedMethod != null? ThreadSafetyVerifier.INSTANCE.wrap(verifiedMethod, decl, target, call) : call;
 	}
 
 }
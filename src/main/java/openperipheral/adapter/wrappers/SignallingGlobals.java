@@ -1,6 +1,9 @@
 package openperipheral.adapter.wrappers;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -35,6 +38,12 @@ public class SignallingGlobals {
 			new SynchronousQueue<Runnable>(),
 			new SimpleThreadFactory());
 
+	// only used for short, non-blocking tasks (like queuing events), so single daemon thread is enough
+	private final ScheduledExecutorService delayedTasks = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("OP-delayed-%d")
+			.setDaemon(true)
+			.build());
+
 	private final AtomicInteger callbackCounter = new AtomicInteger();
 
 	public int nextCallbackId() {
@@ -44,4 +53,8 @@ public class SignallingGlobals {
 	public void scheduleTask(Runnable runnable) {
 		threadPool.execute(runnable);
 	}
+
+	public void scheduleDelayedTask(Runnable runnable, long delayMs) {
+		delayedTasks.schedule(runnable, delayMs, TimeUnit.MILLISECONDS);
+	}
 }
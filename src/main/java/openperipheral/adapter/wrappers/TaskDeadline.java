@@ -0,0 +1,47 @@
+package openperipheral.adapter.wrappers;
+
+import com.google.common.base.Ticker;
+import openperipheral.Config;
+import openperipheral.adapter.IMethodExecutor;
+
+public class TaskDeadline {
+
+	public static final TaskDeadline NONE = new TaskDeadline(Ticker.systemTicker(), 0, 0) {
+		@Override
+		public boolean hasExpired() {
+			return false;
+		}
+	};
+
+	private final Ticker ticker;
+
+	private final int timeout;
+
+	private final long deadline;
+
+	private TaskDeadline(Ticker ticker, int timeout, long deadline) {
+		this.ticker = ticker;
+		this.timeout = timeout;
+		this.deadline = deadline;
+	}
+
+	public static TaskDeadline start(int timeout, Ticker ticker) {
+		return timeout > 0? new TaskDeadline(ticker, timeout, ticker.read() + timeout * 1000000L) : NONE;
+	}
+
+	public static TaskDeadline start(int timeout) {
+		return start(timeout, Ticker.systemTicker());
+	}
+
+	public static TaskDeadline start(IMethodExecutor executor) {
+		return start(executor.getTimeout().or(Config.callTimeout));
+	}
+
+	public boolean hasExpired() {
+		return ticker.read() - deadline > 0;
+	}
+
+	public String timeoutMessage() {
+		return "Call not executed within " + timeout + " ms, dropped";
+	}
+}
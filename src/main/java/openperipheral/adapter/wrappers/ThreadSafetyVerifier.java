@@ -0,0 +1,178 @@
+package openperipheral.adapter.wrappers;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import openmods.Log;
+import openperipheral.adapter.IMethodCall;
+import openperipheral.adapter.IPreparedCall;
+import openperipheral.adapter.method.MethodDeclaration;
+import org.apache.logging.log4j.Level;
+
+/**
+ * Development helper for methods declared as thread-safe.
+ * After method is called in computer thread, it's called again (with same target and arguments) in main thread and results are compared.
+ * Different results mean that method probably reads state that is modified by game logic, though it may also be caused by legitimate change between calls, so every report needs manual review.
+ * Only one check per method is pending at any time, so verification adds at most one call per method per tick.
+ */
+public class ThreadSafetyVerifier {
+
+	public static final ThreadSafetyVerifier INSTANCE = new ThreadSafetyVerifier();
+
+	private final Set<Method> reportedMethods = Sets.newSetFromMap(Maps.<Method, Boolean> newConcurrentMap());
+
+	private final Set<Method> pendingMethods = Sets.newSetFromMap(Maps.<Method, Boolean> newConcurrentMap());
+
+	private final Queue<Runnable> pendingChecks = Queues.newConcurrentLinkedQueue();
+
+	public static void verifyDeclaration(Method method) {
+		if (method.getReturnType() == void.class)
+			Log.warn("Method %s is declared as thread-safe, but returns nothing, so it probably has side effects", method);
+	}
+
+	private static boolean isConcurrencyFailure(Throwable t) {
+		while (t != null) {
+			if (t instanceof ConcurrentModificationException) return true;
+			t = t.getCause();
+		}
+
+		return false;
+	}
+
+	// script objects and other opaque values are converted to new wrappers on every call, so they can't be compared
+	private static boolean isComparable(Object value) {
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) return true;
+
+		if (value instanceof Map) {
+			for (Map.Entry<?, ?> e : ((Map<?, ?>)value).entrySet())
+				if (!isComparable(e.getKey()) || !isComparable(e.getValue())) return false;
+			return true;
+		}
+
+		if (value instanceof Collection) {
+			for (Object o : (Collection<?>)value)
+				if (!isComparable(o)) return false;
+			return true;
+		}
+
+		if (value instanceof Object[]) {
+			for (Object o : (Object[])value)
+				if (!isComparable(o)) return false;
+			return true;
+		}
+
+		return false;
+	}
+
+	private void reportFailure(Method method, Exception e) {
+		if (isConcurrencyFailure(e) && reportedMethods.add(method))
+			Log.warn(e, "Method %s is declared as thread-safe, but failed with concurrent modification when called in thread %s", method, Thread.currentThread().getName());
+	}
+
+	private void reportMismatch(Method method, Object[] asyncResult, Object[] syncResult) {
+		if (reportedMethods.add(method))
+			Log.warn("Method %s is declared as thread-safe, but returned %s when called in computer thread and %s in main thread. It probably reads state that should be used only in main thread",
+					method, Arrays.deepToString(asyncResult), Arrays.deepToString(syncResult));
+	}
+
+	private void scheduleCheck(final Method method, final MethodDeclaration decl, final Object target, final Map<String, Object> env, final Object[] args, final Object[] asyncResult) {
+		if (reportedMethods.contains(method) || !isComparable(asyncResult) || !pendingMethods.add(method)) return;
+
+		pendingChecks.add(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					final IMethodCall call = decl.startCall(target);
+					for (Map.Entry<String, Object> e : env.entrySet())
+						call.setEnv(e.getKey(), e.getValue());
+
+					final Object[] syncResult = call.call(args);
+					if (!Arrays.deepEquals(asyncResult, syncResult)) reportMismatch(method, asyncResult, syncResult);
+				} catch (Throwable t) {
+					// target may be already gone, nothing to compare
+					Log.log(Level.DEBUG, t, "Failed to verify method %s in main thread", method);
+				} finally {
+					pendingMethods.remove(method);
+				}
+			}
+		});
+	}
+
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent evt) {
+		if (evt.phase != Phase.END) return;
+
+		Runnable check;
+		while ((check = pendingChecks.poll()) != null)
+			check.run();
+	}
+
+	public IMethodCall wrap(final Method method, final MethodDeclaration decl, final Object target, final IMethodCall call) {
+		final Map<String, Object> env = Maps.newHashMap();
+		return new IMethodCall() {
+			@Override
+			public IMethodCall setEnv(String name, Object value) {
+				call.setEnv(name, value);
+				env.put(name, value);
+				return this;
+			}
+
+			@Override
+			public Object[] call(Object... args) throws Exception {
+				final Object[] result;
+				try {
+					result = call.call(args);
+				} catch (Exception e) {
+					reportFailure(method, e);
+					throw e;
+				}
+
+				scheduleCheck(method, decl, target, env, args, result);
+				return result;
+			}
+
+			@Override
+			public IPreparedCall prepare(final Object... args) throws Exception {
+				final IPreparedCall preparedCall = call.prepare(args);
+				return new IPreparedCall() {
+					@Override
+					public Object invoke() throws Exception {
+						try {
+							return preparedCall.invoke();
+						} catch (Exception e) {
+							reportFailure(method, e);
+							throw e;
+						}
+					}
+
+					@Override
+					public Object[] convertResult(Object invokeResult) throws Exception {
+						final Object[] result = preparedCall.convertResult(invokeResult);
+						scheduleCheck(method, decl, target, env, args, result);
+						return result;
+					}
+
+					@Override
+					public Object invokeUnconverted() throws Exception {
+						try {
+							return preparedCall.invokeUnconverted();
+						} catch (Exception e) {
+							reportFailure(method, e);
+							throw e;
+						}
+					}
+				};
+			}
+		};
+	}
+}
@@ -9,6 +9,7 @@ import openperipheral.api.adapter.IPeripheralAdapterRegistry;
 import openperipheral.api.architecture.cc.IComputerCraftObjectsFactory;
 import openperipheral.api.architecture.oc.IOpenComputersObjectsFactory;
 import openperipheral.api.converter.IConverterManager;
+import openperipheral.api.meta.IEntityBatchMetaBuilder;
 import openperipheral.api.meta.IEntityMetaBuilder;
 import openperipheral.api.meta.IItemStackMetaBuilder;
 import openperipheral.api.peripheral.IPeripheralBlacklist;
@@ -25,6 +26,7 @@ import openperipheral.api.peripheral.IPeripheralBlacklist;
  * <li>{@link IPeripheralAdapterRegistry} - for registering peripheral adapters</li>
  * <li>{@link IObjectAdapterRegistry} - for registering object adapters</li>
  * <li>{@link IEntityMetaBuilder} - for registering metadata providers and getting metadata for in-game entitites</li>
+ * <li>{@link IEntityBatchMetaBuilder} - for getting metadata for many in-game entities at once</li>
  * <li>{@link IItemStackMetaBuilder} - for registering metadata providers and getting metadata for in-game items</li>
  * <li>{@link IConverterManager} - for getting architecture-specific type converters</li>
  * <li>{@link IPeripheralBlacklist} - for checking if class is blacklisted (i.e. will not generate peripheral)</li>
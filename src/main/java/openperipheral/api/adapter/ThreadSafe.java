@@ -0,0 +1,20 @@
+package openperipheral.api.adapter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that method has no side effects and only reads state that can be safely accessed concurrently with main thread
+ * (for example final or volatile fields, immutable or concurrent collections).
+ *
+ * Methods marked with this annotation will be called inside computer thread, same as {@link Asynchronous} ones.
+ * Explicit {@link Asynchronous} annotation on the same level takes precedence.
+ * When used on class level, it will apply to every method, unless method declares it's own annotation.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ThreadSafe {
+	boolean value() default true;
+}
@@ -0,0 +1,18 @@
+package openperipheral.api.adapter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets maximum time (in milliseconds) that call may wait for execution in main thread or in signalling thread pool.
+ * Calls not started before deadline are dropped and caller receives timeout error (or failure signal, for methods marked with {@link ReturnSignal}).
+ * Value less or equal to zero disables deadline. Methods without this annotation use global configuration value (disabled by default).
+ * When used on class level, it will apply to every method, unless method declares it's own annotation.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Timeout {
+	int value();
+}
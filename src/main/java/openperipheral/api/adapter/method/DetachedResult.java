@@ -0,0 +1,21 @@
+package openperipheral.api.adapter.method;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to mark synchronous methods which results can be converted to script values outside main thread.
+ * By default, results made only of plain data (strings, boxed primitives, enums and standard collections, maps and arrays of those) are copied in main thread and converted after leaving it.
+ * Any other result is converted in main thread, since it may reference state that can be modified by game logic.
+ *
+ * If method returns new or immutable objects, it can skip that step. If it returns live containers (collections, maps, arrays or {@link IMultiReturn}),
+ * it can set {@link #snapshot()}, so top level containers (and containers directly in multiple results) are copied in main thread before conversion.
+ * Elements of copied containers still need to be safe for use outside main thread.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DetachedResult {
+	boolean snapshot() default false;
+}
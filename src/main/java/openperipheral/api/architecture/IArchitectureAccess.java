@@ -20,5 +20,10 @@ public interface IArchitectureAccess extends IArchitecture {
 	 */
 	public boolean canSignal();
 
+	/**
+	 * Sends event to computer.
+	 *
+	 * @return true if signal was accepted. If signal batching is enabled in config, signal is only queued and failures during delivery are not reported
+	 */
 	public boolean signal(String name, Object... args);
 }
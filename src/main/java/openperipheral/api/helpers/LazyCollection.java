@@ -0,0 +1,110 @@
+package openperipheral.api.helpers;
+
+import com.google.common.base.Preconditions;
+import java.lang.reflect.Array;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import openperipheral.api.adapter.AdapterSourceName;
+import openperipheral.api.adapter.Asynchronous;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.DetachedResult;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.adapter.method.ScriptObject;
+
+/**
+ * Paginated view of collection, returned to scripts as object instead of table.
+ * Contents are copied when object is created, but elements are converted only when requested, so scripts that inspect only part of big result don't pay for conversion of whole collection.
+ *
+ * Map entries are exposed as tables with {@code key} and {@code value} fields.
+ * Elements are picked in main thread, but converted after leaving it. Size is read directly from computer thread.
+ */
+@ScriptObject
+@AdapterSourceName("lazy_collection")
+public class LazyCollection {
+
+	private final List<Object> elements;
+
+	private final boolean isMap;
+
+	private int position;
+
+	private LazyCollection(List<Object> elements, boolean isMap) {
+		this.elements = elements;
+		this.isMap = isMap;
+	}
+
+	public static LazyCollection of(Collection<?> collection) {
+		return new LazyCollection(new ArrayList<Object>(collection), false);
+	}
+
+	public static LazyCollection of(Map<?, ?> map) {
+		// entries of most maps are live views, so they have to be copied too
+		final List<Object> entries = new ArrayList<Object>(map.size());
+		for (Map.Entry<?, ?> e : map.entrySet())
+			entries.add(new AbstractMap.SimpleImmutableEntry<Object, Object>(e.getKey(), e.getValue()));
+		return new LazyCollection(entries, true);
+	}
+
+	public static LazyCollection ofArray(Object array) {
+		Preconditions.checkArgument(array.getClass().isArray(), "Object %s is not array", array);
+		final int length = Array.getLength(array);
+		final List<Object> elements = new ArrayList<Object>(length);
+		for (int i = 0; i < length; i++)
+			elements.add(Array.get(array, i));
+		return new LazyCollection(elements, false);
+	}
+
+	private Object element(int index) {
+		final Object element = elements.get(index);
+		if (!isMap) return element;
+
+		final Map.Entry<?, ?> entry = (Map.Entry<?, ?>)element;
+		final Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("key", entry.getKey());
+		result.put("value", entry.getValue());
+		return result;
+	}
+
+	private List<Object> range(int from, int count) {
+		Preconditions.checkArgument(count >= 0, "Count must be non-negative");
+		// from + count may overflow
+		final int to = from + Math.min(count, elements.size() - from);
+		final List<Object> result = new ArrayList<Object>(Math.max(0, to - from));
+		for (int i = from; i < to; i++)
+			result.add(element(i));
+		return result;
+	}
+
+	@Asynchronous
+	@ScriptCallable(returnTypes = ReturnType.NUMBER, description = "Returns number of elements")
+	public int size() {
+		return elements.size();
+	}
+
+	@DetachedResult
+	@ScriptCallable(returnTypes = ReturnType.OBJECT, description = "Returns single element")
+	public Object get(@Arg(name = "index") Index index) {
+		Preconditions.checkElementIndex(index.value, elements.size(), "index");
+		return element(index.value);
+	}
+
+	@DetachedResult
+	@ScriptCallable(returnTypes = ReturnType.TABLE, description = "Returns up to count elements, starting from given index")
+	public List<Object> slice(@Arg(name = "from") Index from, @Arg(name = "count") int count) {
+		Preconditions.checkPositionIndex(from.value, elements.size(), "from");
+		return range(from.value, count);
+	}
+
+	@DetachedResult
+	@ScriptCallable(returnTypes = ReturnType.TABLE, description = "Returns up to count elements after ones returned by previous call. Returns empty table when all elements were read")
+	public List<Object> next(@Arg(name = "count") int count) {
+		final List<Object> result = range(position, count);
+		position += result.size();
+		return result;
+	}
+}
@@ -0,0 +1,76 @@
+package openperipheral.api.helpers;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Primitive array returned to scripts as single string instead of table with one entry per element.
+ * In ComputerCraft, values can be decoded with {@code openp/packed} API (i.e. {@code os.loadAPI("openp/packed"); local values = packed.decode(data)}).
+ *
+ * Layout (all values are little-endian):
+ * <ul>
+ * <li>byte 0: element type: {@code 'b'} (int8), {@code 'h'} (int16), {@code 'i'} (int32), {@code 'f'} (float32) or {@code 'd'} (float64)</li>
+ * <li>bytes 1-4: number of elements, unsigned int32</li>
+ * <li>bytes 5-: elements</li>
+ * </ul>
+ */
+public class PackedArray {
+
+	public static final byte TYPE_INT8 = 'b';
+	public static final byte TYPE_INT16 = 'h';
+	public static final byte TYPE_INT32 = 'i';
+	public static final byte TYPE_FLOAT32 = 'f';
+	public static final byte TYPE_FLOAT64 = 'd';
+
+	public static final int HEADER_SIZE = 5;
+
+	private final byte[] data;
+
+	private PackedArray(ByteBuffer buffer) {
+		this.data = buffer.array();
+	}
+
+	/**
+	 * Returns encoded array. Returned value is not copied, so it should not be modified
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+	private static ByteBuffer createBuffer(byte type, int count, int elementSize) {
+		final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * elementSize).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put(type);
+		buffer.putInt(count);
+		return buffer;
+	}
+
+	public static PackedArray of(byte[] values) {
+		final ByteBuffer buffer = createBuffer(TYPE_INT8, values.length, 1);
+		buffer.put(values);
+		return new PackedArray(buffer);
+	}
+
+	public static PackedArray of(short[] values) {
+		final ByteBuffer buffer = createBuffer(TYPE_INT16, values.length, 2);
+		buffer.asShortBuffer().put(values);
+		return new PackedArray(buffer);
+	}
+
+	public static PackedArray of(int[] values) {
+		final ByteBuffer buffer = createBuffer(TYPE_INT32, values.length, 4);
+		buffer.asIntBuffer().put(values);
+		return new PackedArray(buffer);
+	}
+
+	public static PackedArray of(float[] values) {
+		final ByteBuffer buffer = createBuffer(TYPE_FLOAT32, values.length, 4);
+		buffer.asFloatBuffer().put(values);
+		return new PackedArray(buffer);
+	}
+
+	public static PackedArray of(double[] values) {
+		final ByteBuffer buffer = createBuffer(TYPE_FLOAT64, values.length, 8);
+		buffer.asDoubleBuffer().put(values);
+		return new PackedArray(buffer);
+	}
+}
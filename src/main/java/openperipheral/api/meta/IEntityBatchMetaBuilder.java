@@ -0,0 +1,25 @@
+package openperipheral.api.meta;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.Vec3;
+import openperipheral.api.IApiInterface;
+
+/**
+ * Bulk version of {@link IEntityMetaBuilder#getEntityMetadata(Entity, Vec3)}.
+ * Kept in separate interface, so existing implementations of {@link IEntityMetaBuilder} are not affected.
+ */
+public interface IEntityBatchMetaBuilder extends IApiInterface {
+	/**
+	 * Returns metadata for every entity in collection (in iteration order).
+	 * Providers are resolved once per entity class, so this is preferred over multiple calls to {@link IEntityMetaBuilder#getEntityMetadata(Entity, Vec3)}.
+	 *
+	 * @param relativePos
+	 *            origin of reported positions, may be null for absolute coordinates
+	 * @param keys
+	 *            if not empty, only providers with these keys will be called (basic properties are always included)
+	 */
+	public List<Map<String, Object>> getEntitiesMetadata(Collection<? extends Entity> entities, Vec3 relativePos, String... keys);
+}
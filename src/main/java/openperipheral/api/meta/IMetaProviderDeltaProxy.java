@@ -0,0 +1,25 @@
+package openperipheral.api.meta;
+
+import openperipheral.api.Constants;
+import openperipheral.api.adapter.AdapterSourceName;
+import openperipheral.api.adapter.Asynchronous;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.Env;
+import openperipheral.api.adapter.method.IMultiReturn;
+import openperipheral.api.adapter.method.Optionals;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.converter.IConverter;
+
+/**
+ * Optional extension of {@link IMetaProviderProxy} for objects that can report property changes.
+ *
+ * Version token returned by {@link #changes(IConverter, Integer)} is only meaningful for the same proxy instance - passing it to other proxy (even one created for same object) will return full state.
+ */
+@Asynchronous
+@AdapterSourceName("properties")
+public interface IMetaProviderDeltaProxy extends IMetaProviderProxy {
+	@ScriptCallable(returnTypes = { ReturnType.TABLE, ReturnType.NUMBER, ReturnType.TABLE }, description = "Returns properties changed since given version (or all properties, if no version given), new version and list of removed keys. Version is only valid for this object")
+	public IMultiReturn changes(@Env(Constants.ARG_CONVERTER) IConverter converter,
+			@Optionals @Arg(name = "since", description = "Version returned by previous call on this object") Integer since);
+}
@@ -7,10 +7,24 @@ import openperipheral.api.converter.IGenericInboundTypeConverter;
 
 public abstract class GenericInboundConverterAdapter implements IGenericInboundTypeConverter {
 
+	public static Class<?> getRawType(Type type) {
+		return (type instanceof Class)? (Class<?>)type : TypeToken.of(type).getRawType();
+	}
+
 	@Override
 	public Object toJava(IConverter registry, Object obj, Type expected) {
-		TypeToken<?> type = TypeToken.of(expected);
-		return toJava(registry, obj, type.getRawType());
+		return convert(registry, obj, obj.getClass(), getRawType(expected));
+	}
+
+	Object convert(IConverter registry, Object obj, Class<?> valueClass, Class<?> expected) {
+		return canConvert(valueClass, expected)? toJava(registry, obj, expected) : null;
+	}
+
+	/**
+	 * Cheap check done before conversion. If it returns false, converter is skipped.
+	 */
+	public boolean canConvert(Class<?> valueClass, Class<?> expected) {
+		return true;
 	}
 
 	protected abstract Object toJava(IConverter converter, Object obj, Class<?> expected);
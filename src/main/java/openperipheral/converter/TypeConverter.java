@@ -139,13 +139,18 @@ public abstract class TypeConverter implements IConverter {
 			return null;
 		}
 
+		final Class<?> valueClass = obj.getClass();
+		final Class<?> rawType = GenericInboundConverterAdapter.getRawType(expected);
+
 		for (IGenericInboundTypeConverter converter : inbound) {
-			Object response = converter.toJava(this, obj, expected);
+			// raw type is calculated once for all adapters
+			final Object response = (converter instanceof GenericInboundConverterAdapter)
+					? ((GenericInboundConverterAdapter)converter).convert(this, obj, valueClass, rawType)
+					: converter.toJava(this, obj, expected);
 			if (response != null) return response;
 		}
 
-		final TypeToken<?> type = TypeToken.of(expected);
-		throw new IllegalArgumentException(String.format("No known conversion of value %s to %s", obj, type.getRawType().getSimpleName()));
+		throw new IllegalArgumentException(String.format("No known conversion of value %s to %s", obj, rawType.getSimpleName()));
 	}
 
 	@Override
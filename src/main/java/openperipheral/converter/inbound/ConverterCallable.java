@@ -1,33 +1,67 @@
 package openperipheral.converter.inbound;
 
 import com.google.common.collect.Maps;
-import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import openperipheral.api.adapter.GenerationFailedException;
 import openperipheral.api.adapter.method.ScriptObject;
 import openperipheral.api.converter.IConverter;
 import openperipheral.api.converter.IOutboundTypeConverter;
 
 public abstract class ConverterCallable implements IOutboundTypeConverter {
 
-	private final Map<Class<?>, Boolean> cache = Maps.newHashMap();
+	public interface IWrapperFactory {
+		public Object wrap(Object target);
+	}
+
+	protected static final IWrapperFactory NULL_FACTORY = new IWrapperFactory() {
+		@Override
+		public Object wrap(Object target) {
+			return null;
+		}
+	};
 
-	private synchronized boolean isCallable(Class<?> cls) {
-		Boolean result = cache.get(cls);
+	// detection and method lookup is done once per class, then wrapping needs no locking
+	private final ConcurrentMap<Class<?>, IWrapperFactory> factories = Maps.newConcurrentMap();
 
-		if (result == null) {
-			result = cls.isAnnotationPresent(ScriptObject.class);
-			cache.put(cls, result);
+	private volatile long factoriesEpoch;
+
+	private IWrapperFactory getFactory(Class<?> cls) {
+		// factories capture composed classes, so they must be dropped together
+		final long epoch = currentEpoch();
+		if (epoch != factoriesEpoch) {
+			factories.clear();
+			factoriesEpoch = epoch;
 		}
 
-		return result;
+		IWrapperFactory factory = factories.get(cls);
+
+		if (factory == null) {
+			factory = cls.isAnnotationPresent(ScriptObject.class)? createFactory(cls) : NULL_FACTORY;
+			if (epoch != factoriesEpoch) return factory;
+
+			final IWrapperFactory prevFactory = factories.putIfAbsent(cls, factory);
+			if (prevFactory != null) factory = prevFactory;
+		}
+
+		return factory;
 	}
 
-	protected abstract Object wrap(Object o);
+	protected abstract IWrapperFactory createFactory(Class<?> cls);
+
+	protected abstract long currentEpoch();
 
 	@Override
 	public Object fromJava(IConverter registry, Object obj) {
-		if (isCallable(obj.getClass())) return wrap(obj);
+		final Class<?> cls = obj.getClass();
+
+		final IWrapperFactory factory;
+		try {
+			factory = getFactory(cls);
+		} catch (Throwable t) {
+			throw new GenerationFailedException(String.format("%s (%s)", obj, cls), t);
+		}
 
-		return null;
+		return factory.wrap(obj);
 	}
 
 }
@@ -5,6 +5,11 @@ import openperipheral.api.converter.IConverter;
 import openperipheral.converter.GenericInboundConverterAdapter;
 
 public class ConverterEnumInbound extends GenericInboundConverterAdapter {
+	@Override
+	public boolean canConvert(Class<?> valueClass, Class<?> expected) {
+		return expected.isEnum();
+	}
+
 	@Override
 	public Object toJava(IConverter registry, Object obj, Class<?> expected) {
 		if (expected.isEnum()) {
@@ -9,6 +9,11 @@ import openperipheral.api.converter.IConverter;
 import openperipheral.converter.GenericInboundConverterAdapter;
 
 public class ConverterItemStackInbound extends GenericInboundConverterAdapter {
+	@Override
+	public boolean canConvert(Class<?> valueClass, Class<?> expected) {
+		return expected == ItemStack.class && Map.class.isAssignableFrom(valueClass);
+	}
+
 	@Override
 	public Object toJava(IConverter registry, Object o, Class<?> required) {
 		if (required == ItemStack.class && o instanceof Map) {
@@ -1,22 +1,41 @@
 package openperipheral.converter.inbound;
 
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
 import openperipheral.api.converter.IConverter;
 import openperipheral.api.helpers.Index;
 import openperipheral.converter.GenericInboundConverterAdapter;
 
 public class ConverterNumberInbound extends GenericInboundConverterAdapter {
 
+	private static final Set<Class<?>> SUPPORTED_TYPES = ImmutableSet.<Class<?>> of(
+			Integer.class, int.class,
+			Double.class, double.class,
+			Float.class, float.class,
+			Long.class, long.class,
+			Short.class, short.class,
+			Byte.class, byte.class,
+			Boolean.class, boolean.class,
+			Index.class);
+
 	private final int offset;
 
 	public ConverterNumberInbound(int offset) {
 		this.offset = offset;
 	}
 
+	@Override
+	public boolean canConvert(Class<?> valueClass, Class<?> expected) {
+		return SUPPORTED_TYPES.contains(expected) && (Number.class.isAssignableFrom(valueClass) || valueClass == String.class);
+	}
+
 	@Override
 	public Object toJava(IConverter registry, Object o, Class<?> required) {
 		final Double d;
 		if (o instanceof Double) {
 			d = (Double)o;
+		} else if (o instanceof Number) {
+			d = ((Number)o).doubleValue();
 		} else try {
 			d = Double.parseDouble(o.toString());
 		} catch (NumberFormatException e) {
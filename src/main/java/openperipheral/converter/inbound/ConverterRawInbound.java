@@ -5,6 +5,11 @@ import openperipheral.converter.GenericInboundConverterAdapter;
 
 public class ConverterRawInbound extends GenericInboundConverterAdapter {
 
+	@Override
+	public boolean canConvert(Class<?> valueClass, Class<?> expected) {
+		return expected == Object.class;
+	}
+
 	@Override
 	protected Object toJava(IConverter converter, Object obj, Class<?> expected) {
 		if (expected == Object.class) return obj;
@@ -14,6 +14,11 @@ public class ConverterStructInbound extends GenericInboundConverterAdapter {
 		this.indexOffset = indexOffset;
 	}
 
+	@Override
+	public boolean canConvert(Class<?> valueClass, Class<?> expected) {
+		return Map.class.isAssignableFrom(valueClass);
+	}
+
 	@Override
 	protected Object toJava(IConverter converter, Object obj, Class<?> expected) {
 		if (obj instanceof Map && StructHandlerProvider.instance.isStruct(expected)) {
@@ -6,6 +6,11 @@ import openperipheral.converter.GenericInboundConverterAdapter;
 
 public class ConverterUuid extends GenericInboundConverterAdapter {
 
+	@Override
+	public boolean canConvert(Class<?> valueClass, Class<?> expected) {
+		return expected == UUID.class && valueClass == String.class;
+	}
+
 	@Override
 	public Object toJava(IConverter registry, Object obj, Class<?> expected) {
 		if (expected == UUID.class && obj instanceof String) return UUID.fromString((String)obj);
@@ -0,0 +1,16 @@
+package openperipheral.converter.outbound;
+
+import openperipheral.api.converter.IConverter;
+import openperipheral.api.converter.IOutboundTypeConverter;
+import openperipheral.api.helpers.PackedArray;
+
+public abstract class ConverterPackedArrayOutbound implements IOutboundTypeConverter {
+
+	protected abstract Object wrap(byte[] data);
+
+	@Override
+	public Object fromJava(IConverter registry, Object obj) {
+		return (obj instanceof PackedArray)? wrap(((PackedArray)obj).getData()) : null;
+	}
+
+}
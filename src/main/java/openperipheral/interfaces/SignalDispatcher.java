@@ -0,0 +1,150 @@
+package openperipheral.interfaces;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import openmods.Log;
+import openmods.config.properties.ConfigurationChange;
+import openperipheral.Config;
+
+/**
+ * Collects signals sent during tick and delivers them, grouped by computer, at the end of server tick.
+ * Signals matching coalescing rules are merged, so only latest value is delivered.
+ */
+public class SignalDispatcher {
+
+	public interface ISignalTarget {
+		public String architecture();
+
+		public String callerName();
+
+		public String peripheralName();
+
+		public boolean canSignal();
+
+		public boolean deliverSignal(String name, Object[] args);
+	}
+
+	public static final SignalDispatcher INSTANCE = new SignalDispatcher();
+
+	private static class PendingSignal {
+		private final ISignalTarget target;
+		private final String name;
+		private final Object[] args;
+
+		public PendingSignal(ISignalTarget target, String name, Object[] args) {
+			this.target = target;
+			this.name = name;
+			this.args = args;
+		}
+
+		public void deliver() {
+			if (target.canSignal()) target.deliverSignal(name, args);
+		}
+	}
+
+	private static class ComputerQueue {
+		// non-coalesced signals use unique keys, so insertion order is preserved for all signals
+		private final Map<Object, PendingSignal> signals = Maps.newLinkedHashMap();
+
+		public void add(Object key, PendingSignal signal) {
+			signals.put(key, signal);
+		}
+	}
+
+	private volatile Map<String, Integer> coalescingRules = ImmutableMap.of();
+
+	private Map<String, ComputerQueue> queues = Maps.newLinkedHashMap();
+
+	/**
+	 * Rule format: 'name' (all signals with this name are merged) or 'name:N' (signals are merged when first N arguments are equal)
+	 */
+	public void loadCoalescingRules(String[] rules) {
+		final Map<String, Integer> result = Maps.newHashMap();
+		for (String rule : rules) {
+			final List<String> parts = Lists.newArrayList(Splitter.on(':').trimResults().split(rule));
+			try {
+				Preconditions.checkArgument(parts.size() <= 2 && !parts.get(0).isEmpty(), "Invalid format");
+				final int keyArgs = parts.size() == 2? Integer.parseInt(parts.get(1)) : 0;
+				Preconditions.checkArgument(keyArgs >= 0, "Negative argument count");
+				result.put(parts.get(0), keyArgs);
+			} catch (Exception e) {
+				Log.warn(e, "Invalid signal coalescing rule: '%s'", rule);
+			}
+		}
+
+		coalescingRules = ImmutableMap.copyOf(result);
+	}
+
+	private Object createKey(ISignalTarget target, String name, Object[] args) {
+		final Integer keyArgs = coalescingRules.get(name);
+		if (keyArgs == null) return new Object();
+
+		final List<Object> key = Lists.newArrayList();
+		key.add(target.peripheralName());
+		key.add(name);
+		key.addAll(Arrays.asList(args).subList(0, Math.min(keyArgs, args.length)));
+		return key;
+	}
+
+	private static String computerId(ISignalTarget target) {
+		return target.architecture() + ":" + target.callerName();
+	}
+
+	private synchronized void enqueue(ISignalTarget target, String name, Object[] args) {
+		final String computerId = computerId(target);
+		ComputerQueue queue = queues.get(computerId);
+		if (queue == null) {
+			queue = new ComputerQueue();
+			queues.put(computerId, queue);
+		}
+
+		queue.add(createKey(target, name, args), new PendingSignal(target, name, args));
+	}
+
+	/**
+	 * When batching is enabled, returned value only tells if signal was queued - delivery may still fail at the end of tick (for example, when computer event queue is full).
+	 */
+	public boolean signal(ISignalTarget target, String name, Object... args) {
+		if (!Config.batchSignals) return target.deliverSignal(name, args);
+		if (!target.canSignal()) return false;
+		enqueue(target, name, args.clone());
+		return true;
+	}
+
+	public void flush() {
+		final Map<String, ComputerQueue> toDeliver;
+		synchronized (this) {
+			if (queues.isEmpty()) return;
+			toDeliver = queues;
+			queues = Maps.newLinkedHashMap();
+		}
+
+		for (ComputerQueue queue : toDeliver.values())
+			for (PendingSignal signal : queue.signals.values()) {
+				try {
+					signal.deliver();
+				} catch (Throwable t) {
+					Log.warn(t, "Failed to deliver signal %s", signal.name);
+				}
+			}
+	}
+
+	@SubscribeEvent
+	public void onConfigChange(ConfigurationChange evt) {
+		if (evt.check(Config.CATEGORY_PERFORMANCE, Config.FIELD_COALESCED_SIGNALS)) loadCoalescingRules(Config.coalescedSignals);
+	}
+
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent evt) {
+		if (evt.phase == Phase.END) flush();
+	}
+}
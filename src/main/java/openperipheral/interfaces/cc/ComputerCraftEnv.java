@@ -9,6 +9,7 @@ import openperipheral.api.architecture.IArchitecture;
 import openperipheral.api.architecture.IArchitectureAccess;
 import openperipheral.api.converter.IConverter;
 import openperipheral.api.helpers.Index;
+import openperipheral.interfaces.SignalDispatcher;
 import openperipheral.interfaces.cc.wrappers.LuaObjectWrapper;
 import org.apache.logging.log4j.Level;
 
@@ -42,7 +43,7 @@ public class ComputerCraftEnv {
 		}
 	}
 
-	private static class CCArchitectureAccess extends CCArchitecture implements IArchitectureAccess {
+	private static class CCArchitectureAccess extends CCArchitecture implements IArchitectureAccess, SignalDispatcher.ISignalTarget {
 		private final IComputerAccess access;
 
 		public CCArchitectureAccess(IComputerAccess access, IConverter converter) {
@@ -73,6 +74,11 @@ public class ComputerCraftEnv {
 
 		@Override
 		public boolean signal(String name, Object... args) {
+			return SignalDispatcher.INSTANCE.signal(this, name, args);
+		}
+
+		@Override
+		public boolean deliverSignal(String name, Object[] args) {
 			try {
 				access.queueEvent(name, args);
 				return true;
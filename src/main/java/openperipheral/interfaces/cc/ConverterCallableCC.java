@@ -1,13 +1,27 @@
 package openperipheral.interfaces.cc;
 
+import openperipheral.adapter.composed.IndexedMethodMap;
 import openperipheral.converter.inbound.ConverterCallable;
 import openperipheral.interfaces.cc.wrappers.LuaObjectWrapper;
 
 public class ConverterCallableCC extends ConverterCallable {
 
 	@Override
-	protected Object wrap(Object o) {
-		return LuaObjectWrapper.wrap(o);
+	protected IWrapperFactory createFactory(Class<?> cls) {
+		final IndexedMethodMap methods = ModuleComputerCraft.OBJECT_METHODS_FACTORY.getAdaptedClass(cls);
+		if (methods.isEmpty()) return NULL_FACTORY;
+
+		return new IWrapperFactory() {
+			@Override
+			public Object wrap(Object target) {
+				return LuaObjectWrapper.wrap(methods, target);
+			}
+		};
+	}
+
+	@Override
+	protected long currentEpoch() {
+		return ModuleComputerCraft.OBJECT_METHODS_FACTORY.getEpoch();
 	}
 
 }
@@ -0,0 +1,14 @@
+package openperipheral.interfaces.cc;
+
+import com.google.common.base.Charsets;
+import openperipheral.converter.outbound.ConverterPackedArrayOutbound;
+
+public class ConverterPackedArrayCC extends ConverterPackedArrayOutbound {
+
+	@Override
+	protected Object wrap(byte[] data) {
+		// CC maps every char of Java string to single byte of Lua string
+		return new String(data, Charsets.ISO_8859_1);
+	}
+
+}
@@ -1,14 +1,17 @@
 package openperipheral.interfaces.cc;
 
+import com.google.common.collect.ImmutableList;
 import dan200.computercraft.api.ComputerCraftAPI;
 import dan200.computercraft.api.lua.ILuaContext;
 import dan200.computercraft.api.lua.ILuaObject;
 import dan200.computercraft.api.peripheral.IComputerAccess;
 import java.util.Map;
+import net.minecraftforge.common.MinecraftForge;
 import openmods.access.ApiProviderRegistry;
 import openperipheral.CommandDump;
 import openperipheral.adapter.AdapterRegistry;
 import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.composed.CallChainHelper;
 import openperipheral.adapter.composed.ComposedMethodsFactory;
 import openperipheral.adapter.composed.IndexedMethodMap;
 import openperipheral.adapter.composed.MethodSelector;
@@ -20,7 +23,9 @@ import openperipheral.api.architecture.IArchitectureAccess;
 import openperipheral.api.converter.IConverter;
 import openperipheral.converter.TypeConvertersProvider;
 import openperipheral.interfaces.cc.providers.AdapterFactoryWrapperCC;
+import openperipheral.interfaces.cc.providers.PeripheralCache;
 import openperipheral.interfaces.cc.providers.PeripheralProvider;
+import openperipheral.interfaces.cc.wrappers.PeripheralGroupHelper;
 import openperipheral.util.DocBuilder;
 
 public class ModuleComputerCraft {
@@ -39,7 +44,7 @@ public class ModuleComputerCraft {
 				.addProvidedEnv(Constants.ARG_COMPUTER, IComputerAccess.class)
 				.addProvidedEnv(Constants.ARG_CONTEXT, ILuaContext.class);
 
-		PERIPHERAL_METHODS_FACTORY = new ComposedMethodsFactory<IndexedMethodMap>(AdapterRegistry.PERIPHERAL_ADAPTERS, peripheralSelector) {
+		PERIPHERAL_METHODS_FACTORY = new ComposedMethodsFactory<IndexedMethodMap>(AdapterRegistry.PERIPHERAL_ADAPTERS, peripheralSelector, ImmutableList.<Object> of(new PeripheralGroupHelper())) {
 			@Override
 			protected IndexedMethodMap wrapMethods(Class<?> targetCls, Map<String, IMethodExecutor> methods) {
 				return new IndexedMethodMap(methods);
@@ -58,6 +63,8 @@ public class ModuleComputerCraft {
 			}
 		};
 
+		CallChainHelper.registerObjectMethods(Constants.ARCH_COMPUTER_CRAFT, OBJECT_METHODS_FACTORY);
+
 		CommandDump.addArchSerializer("ComputerCraft", "peripheral", DocBuilder.TILE_ENTITY_DECORATOR, PERIPHERAL_METHODS_FACTORY);
 		CommandDump.addArchSerializer("ComputerCraft", "object", DocBuilder.SCRIPT_OBJECT_DECORATOR, OBJECT_METHODS_FACTORY);
 
@@ -72,6 +79,7 @@ public class ModuleComputerCraft {
 
 	public static void registerProvider() {
 		ComputerCraftAPI.registerPeripheralProvider(new PeripheralProvider());
+		MinecraftForge.EVENT_BUS.register(PeripheralCache.INSTANCE);
 	}
 
 	public static void installAPI(ApiProviderRegistry<IApiInterface> registry) {
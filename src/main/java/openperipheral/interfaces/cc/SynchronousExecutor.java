@@ -4,7 +4,10 @@ import com.google.common.base.Throwables;
 import dan200.computercraft.api.lua.ILuaContext;
 import dan200.computercraft.api.lua.ILuaTask;
 import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.peripheral.IComputerAccess;
 import openperipheral.adapter.AdapterLogicException;
+import openperipheral.adapter.wrappers.SignallingGlobals;
+import openperipheral.adapter.wrappers.TaskDeadline;
 
 // CC still needs it, since default .executeInMainThread() incorrectly converts ILuaObjects
 public class SynchronousExecutor {
@@ -14,17 +17,32 @@ public class SynchronousExecutor {
 		public Object[] execute() throws LuaException, InterruptedException;
 	}
 
+	public interface Validator {
+		public boolean isValid();
+	}
+
+	public static final Validator ALWAYS_VALID = new Validator() {
+		@Override
+		public boolean isValid() {
+			return true;
+		}
+	};
+
 	private static class Responder implements ILuaTask {
 		private static final String CALLBACK_EVENT_ID = "task_complete";
 		private final ILuaContext context;
 		private final Task task;
-		private boolean nobodyLovesMe;
+		private final TaskDeadline deadline;
+		private final Validator validator;
+		private volatile boolean nobodyLovesMe;
 		public Throwable error;
 		public Object[] result;
 
-		public Responder(ILuaContext context, Task task) {
+		public Responder(ILuaContext context, Task task, TaskDeadline deadline, Validator validator) {
 			this.context = context;
 			this.task = task;
+			this.deadline = deadline;
+			this.validator = validator;
 		}
 
 		public void waitForEvent(long transactionId) throws LuaException, InterruptedException {
@@ -58,6 +76,19 @@ public class SynchronousExecutor {
 
 		@Override
 		public Object[] execute() {
+			// caller is gone, so there is no point in executing
+			if (nobodyLovesMe) return DUMMY;
+
+			if (!validator.isValid()) {
+				error = new LuaException("Call cancelled");
+				return DUMMY;
+			}
+
+			if (deadline.hasExpired()) {
+				error = new LuaException(deadline.timeoutMessage());
+				return DUMMY;
+			}
+
 			try {
 				result = task.execute();
 			} catch (Throwable e) {
@@ -68,8 +99,36 @@ public class SynchronousExecutor {
 		}
 	}
 
+	private static final String WAKE_UP_EVENT_ID = "op_wake_up";
+
+	/**
+	 * Suspends caller for given time without involving main thread. Other events received by computer in meantime are discarded, like in Lua <code>sleep</code>
+	 */
+	public static void sleep(final IComputerAccess computer, ILuaContext context, long delayMs) throws LuaException, InterruptedException {
+		final int wakeUpId = SignallingGlobals.instance.nextCallbackId();
+		SignallingGlobals.instance.scheduleDelayedTask(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					computer.queueEvent(WAKE_UP_EVENT_ID, new Object[] { wakeUpId });
+				} catch (RuntimeException e) {
+					// peripheral detached, caller will be terminated or interrupted anyway
+				}
+			}
+		}, delayMs);
+
+		while (true) {
+			final Object[] result = context.pullEvent(WAKE_UP_EVENT_ID);
+			if (result.length > 1 && result[1] instanceof Number && ((Number)result[1]).intValue() == wakeUpId) break;
+		}
+	}
+
 	public static Object[] executeInMainThread(ILuaContext context, Task task) throws LuaException, InterruptedException {
-		final Responder responder = new Responder(context, task);
+		return executeInMainThread(context, TaskDeadline.NONE, ALWAYS_VALID, task);
+	}
+
+	public static Object[] executeInMainThread(ILuaContext context, TaskDeadline deadline, Validator validator, Task task) throws LuaException, InterruptedException {
+		final Responder responder = new Responder(context, task, deadline, validator);
 		long taskId = context.issueMainThreadTask(responder);
 
 		responder.waitForEvent(taskId);
@@ -11,6 +11,7 @@ public class TypeConversionRegistryCC extends TypeConverter {
 		super(LUA_OFFSET);
 		registerIgnored(ILuaObject.class, true);
 		outbound.addFirst(new ConverterCallableCC());
+		outbound.addFirst(new ConverterPackedArrayCC());
 	}
 
 }
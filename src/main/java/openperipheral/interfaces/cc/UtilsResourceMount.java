@@ -1,38 +1,71 @@
 package openperipheral.interfaces.cc;
 
-import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.io.ByteStreams;
 import dan200.computercraft.api.filesystem.IMount;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Scanner;
-import java.util.SortedSet;
+import java.util.SortedMap;
+import openmods.Log;
 
 public class UtilsResourceMount implements IMount {
 
 	private static final String RESOURCE_PATH = "/openperipheral/lua/";
-	private final SortedSet<String> files;
 
-	public UtilsResourceMount() {
-		ImmutableSortedSet.Builder<String> files = ImmutableSortedSet.naturalOrder();
-		InputStream fileList = getClass().getResourceAsStream(RESOURCE_PATH + "files.lst");
+	// contents are loaded once, on first access, and then served from memory
+	private final Supplier<SortedMap<String, byte[]>> files = Suppliers.memoize(new Supplier<SortedMap<String, byte[]>>() {
+		@Override
+		public SortedMap<String, byte[]> get() {
+			return loadFiles();
+		}
+	});
+
+	private static SortedMap<String, byte[]> loadFiles() {
+		ImmutableSortedMap.Builder<String, byte[]> files = ImmutableSortedMap.naturalOrder();
+		InputStream fileList = UtilsResourceMount.class.getResourceAsStream(RESOURCE_PATH + "files.lst");
 		if (fileList != null) {
 			Scanner sc = new Scanner(fileList);
 
 			while (sc.hasNextLine()) {
-				String fileName = sc.nextLine();
-				files.add(fileName);
+				String fileName = sc.nextLine().trim();
+				if (fileName.isEmpty()) continue;
+				final byte[] contents = loadFile(fileName);
+				if (contents != null) files.put(fileName, contents);
 			}
 
 			sc.close();
 		}
 
-		this.files = files.build();
+		return files.build();
+	}
+
+	private static byte[] loadFile(String fileName) {
+		final InputStream stream = UtilsResourceMount.class.getResourceAsStream(RESOURCE_PATH + fileName);
+		if (stream == null) {
+			Log.warn("Missing Lua resource: %s", fileName);
+			return null;
+		}
+
+		try {
+			try {
+				return ByteStreams.toByteArray(stream);
+			} finally {
+				stream.close();
+			}
+		} catch (IOException e) {
+			Log.warn(e, "Failed to read Lua resource: %s", fileName);
+			return null;
+		}
 	}
 
 	@Override
 	public boolean exists(String path) {
-		return path.isEmpty() || files.contains(path);
+		return path.isEmpty() || files.get().containsKey(path);
 	}
 
 	@Override
@@ -42,18 +75,20 @@ public class UtilsResourceMount implements IMount {
 
 	@Override
 	public void list(String path, List<String> contents) {
-		contents.addAll(files);
+		if (path.isEmpty()) contents.addAll(files.get().keySet());
 	}
 
 	@Override
 	public long getSize(String path) {
-		return 0;
+		final byte[] contents = files.get().get(path);
+		return contents != null? contents.length : 0;
 	}
 
 	@Override
 	public InputStream openForRead(String path) throws IOException {
-		if (!files.contains(path)) throw new IOException();
-		return getClass().getResourceAsStream(RESOURCE_PATH + path);
+		final byte[] contents = files.get().get(path);
+		if (contents == null) throw new IOException("No such file: " + path);
+		return new ByteArrayInputStream(contents);
 	}
 
 }
@@ -0,0 +1,77 @@
+package openperipheral.interfaces.cc.providers;
+
+import com.google.common.collect.MapMaker;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import dan200.computercraft.api.peripheral.IPeripheral;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraftforge.event.world.ChunkEvent;
+import openperipheral.interfaces.cc.wrappers.AdapterPeripheral;
+
+/**
+ * Reuses peripherals created for tile entity, since CC queries provider on every neighbour change.
+ * Both keys and values are weak: peripheral references its target, so strong values would keep dead tile entities alive.
+ * Cached peripherals are still reachable while attached to any computer, which is when reuse matters.
+ */
+public class PeripheralCache {
+
+	public static final PeripheralCache INSTANCE = new PeripheralCache();
+
+	private final Map<TileEntity, IPeripheral> peripherals = new MapMaker().weakKeys().weakValues().makeMap();
+
+	private static AdapterPeripheral unwrap(IPeripheral peripheral) {
+		if (peripheral instanceof AdapterPeripheral) return (AdapterPeripheral)peripheral;
+
+		if (Proxy.isProxyClass(peripheral.getClass())) {
+			final InvocationHandler handler = Proxy.getInvocationHandler(peripheral);
+			if (handler instanceof AdapterPeripheral) return (AdapterPeripheral)handler;
+		}
+
+		return null;
+	}
+
+	private static boolean isValid(IPeripheral peripheral) {
+		final AdapterPeripheral adapter = unwrap(peripheral);
+		return adapter == null || adapter.isTargetValid();
+	}
+
+	public IPeripheralFactory<TileEntity> wrap(final IPeripheralFactory<TileEntity> factory) {
+		return new IPeripheralFactory<TileEntity>() {
+			@Override
+			public IPeripheral getPeripheral(TileEntity tile, int side) {
+				if (tile == null || tile.isInvalid()) return null;
+
+				final IPeripheral cached = peripherals.get(tile);
+				if (cached != null && isValid(cached)) return cached;
+
+				final IPeripheral created = factory.getPeripheral(tile, side);
+				// broken placeholder is shared, so no point in storing it
+				if (created != null && unwrap(created) != null) peripherals.put(tile, created);
+				return created;
+			}
+		};
+	}
+
+	/**
+	 * Drops all entries, but leaves peripherals intact, since their targets are still valid
+	 */
+	public void clear() {
+		peripherals.clear();
+	}
+
+	public void invalidate(TileEntity tile) {
+		final IPeripheral peripheral = peripherals.remove(tile);
+		if (peripheral != null) {
+			final AdapterPeripheral adapter = unwrap(peripheral);
+			if (adapter != null) adapter.invalidate();
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(ChunkEvent.Unload evt) {
+		for (Object tile : evt.getChunk().chunkTileEntityMap.values())
+			if (tile instanceof TileEntity) invalidate((TileEntity)tile);
+	}
+}
@@ -2,18 +2,19 @@ package openperipheral.interfaces.cc.providers;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import dan200.computercraft.api.peripheral.IPeripheral;
 import dan200.computercraft.api.peripheral.IPeripheralProvider;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.util.Map;
 import java.util.Set;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
 import openmods.Log;
 import openmods.reflection.ReflectionHelper;
-import openmods.utils.CachedFactory;
 import openperipheral.adapter.TileEntityBlacklist;
 import openperipheral.adapter.composed.IndexedMethodMap;
 import openperipheral.api.adapter.GenerationFailedException;
@@ -84,28 +85,45 @@ public class PeripheralProvider implements IPeripheralProvider {
 		return ModuleComputerCraft.PERIPHERAL_METHODS_FACTORY.getAdaptedClass(cls);
 	}
 
-	private static final CachedFactory<Class<? extends TileEntity>, IPeripheralFactory<TileEntity>> ADAPTED_CLASSES = new CachedFactory<Class<? extends TileEntity>, IPeripheralFactory<TileEntity>>() {
-		@Override
-		protected IPeripheralFactory<TileEntity> create(Class<? extends TileEntity> targetCls) {
-			try {
-				if (IPeripheral.class.isAssignableFrom(targetCls)) return NULL_FACTORY;
-				if (ICustomPeripheralProvider.class.isAssignableFrom(targetCls)) return PROVIDER_ADAPTER;
-				if (TileEntityBlacklist.INSTANCE.isBlacklisted(targetCls)) return NULL_FACTORY;
-
-				final IndexedMethodMap methods = getMethodsForClass(targetCls);
-				if (methods.isEmpty()) return NULL_FACTORY;
-
-				final Set<Class<?>> proxyClasses = getProxyClasses(targetCls);
-				return proxyClasses.isEmpty()? createDirectFactory(methods) : createProxyFactory(methods, targetCls, proxyClasses);
-			} catch (Exception e) {
-				Log.warn(e, "Failed to create factory for %s", targetCls);
-				return SafePeripheralFactory.BROKEN_FACTORY;
-			}
+	// only accessed from server thread
+	private static final Map<Class<? extends TileEntity>, IPeripheralFactory<TileEntity>> ADAPTED_CLASSES = Maps.newHashMap();
+
+	private static long adaptedClassesEpoch = -1;
+
+	private static IPeripheralFactory<TileEntity> createFactoryForClass(Class<? extends TileEntity> targetCls) {
+		try {
+			if (IPeripheral.class.isAssignableFrom(targetCls)) return NULL_FACTORY;
+			if (ICustomPeripheralProvider.class.isAssignableFrom(targetCls)) return PROVIDER_ADAPTER;
+			if (TileEntityBlacklist.INSTANCE.isBlacklisted(targetCls)) return NULL_FACTORY;
+
+			final IndexedMethodMap methods = getMethodsForClass(targetCls);
+			if (methods.isEmpty()) return NULL_FACTORY;
+
+			final Set<Class<?>> proxyClasses = getProxyClasses(targetCls);
+			final IPeripheralFactory<TileEntity> factory = proxyClasses.isEmpty()? createDirectFactory(methods) : createProxyFactory(methods, targetCls, proxyClasses);
+			return PeripheralCache.INSTANCE.wrap(factory);
+		} catch (Exception e) {
+			Log.warn(e, "Failed to create factory for %s", targetCls);
+			return SafePeripheralFactory.BROKEN_FACTORY;
 		}
-	};
+	}
 
 	private static IPeripheralFactory<TileEntity> getFactoryForClass(Class<? extends TileEntity> teClass) {
-		return ADAPTED_CLASSES.getOrCreate(teClass);
+		// factories capture composed classes and blacklist state, so they are dropped when any of them changes
+		final long epoch = ModuleComputerCraft.PERIPHERAL_METHODS_FACTORY.getEpoch() + TileEntityBlacklist.INSTANCE.getEpoch();
+		if (epoch != adaptedClassesEpoch) {
+			ADAPTED_CLASSES.clear();
+			PeripheralCache.INSTANCE.clear();
+			adaptedClassesEpoch = epoch;
+		}
+
+		IPeripheralFactory<TileEntity> factory = ADAPTED_CLASSES.get(teClass);
+		if (factory == null) {
+			factory = createFactoryForClass(teClass);
+			ADAPTED_CLASSES.put(teClass, factory);
+		}
+
+		return factory;
 	}
 
 	public static IPeripheral createAdaptedPeripheralWrapped(Object target) {
@@ -2,6 +2,8 @@ package openperipheral.interfaces.cc.wrappers;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import dan200.computercraft.api.filesystem.IMount;
 import dan200.computercraft.api.lua.ILuaContext;
 import dan200.computercraft.api.lua.ILuaTask;
@@ -9,14 +11,21 @@ import dan200.computercraft.api.lua.LuaException;
 import dan200.computercraft.api.peripheral.IComputerAccess;
 import dan200.computercraft.api.peripheral.IPeripheral;
 import java.util.Arrays;
+import java.util.Set;
+import net.minecraft.tileentity.TileEntity;
 import openmods.Log;
 import openmods.utils.CachedFactory;
+import openperipheral.Config;
 import openperipheral.adapter.AdapterLogicException;
 import openperipheral.adapter.IMethodCall;
 import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.IPreparedCall;
 import openperipheral.adapter.PeripheralTypeProvider;
 import openperipheral.adapter.composed.IndexedMethodMap;
+import openperipheral.adapter.wrappers.CallRateLimiter;
 import openperipheral.adapter.wrappers.SignallingGlobals;
+import openperipheral.adapter.wrappers.TaskDeadline;
+import openperipheral.api.Constants;
 import openperipheral.api.architecture.IArchitectureAccess;
 import openperipheral.api.architecture.IAttachable;
 import openperipheral.api.architecture.cc.IComputerCraftAttachable;
@@ -33,6 +42,7 @@ public class AdapterPeripheral implements IPeripheral, IOpenPeripheral {
 	private static final String MOUNT_NAME = "openp";
 	private static final IMount MOUNT = new UtilsResourceMount();
 	private final Object[] NULL = new Object[0];
+	static final String INVALID_TARGET_MESSAGE = "Peripheral target is no longer valid";
 
 	protected final String type;
 	protected final Object target;
@@ -47,6 +57,11 @@ public class AdapterPeripheral implements IPeripheral, IOpenPeripheral {
 		}
 	};
 
+	// computer access objects are recreated on every attach, so tasks started before reboot or detach can be recognized and dropped
+	private final Set<IComputerAccess> attachedComputers = Sets.newSetFromMap(Maps.<IComputerAccess, Boolean> newConcurrentMap());
+
+	private volatile boolean invalidated;
+
 	public AdapterPeripheral(IndexedMethodMap methods, Object target) {
 		this.methods = methods;
 		this.type = PeripheralTypeProvider.INSTANCE.generateType(target);
@@ -64,11 +79,34 @@ public class AdapterPeripheral implements IPeripheral, IOpenPeripheral {
 		return methods.getMethodNames();
 	}
 
-	private IMethodCall prepareCall(IMethodExecutor executor, IComputerAccess computer, ILuaContext context) {
+	/**
+	 * Called when target is known to be gone (i.e. chunk unloaded), even if it wasn't marked as invalid yet
+	 */
+	public void invalidate() {
+		invalidated = true;
+	}
+
+	public boolean isTargetValid() {
+		if (invalidated) return false;
+		return !(target instanceof TileEntity) || !((TileEntity)target).isInvalid();
+	}
+
+	public IMethodExecutor getMethod(String name) {
+		return methods.getMethod(name);
+	}
+
+	public IMethodCall prepareCall(IMethodExecutor executor, IComputerAccess computer, ILuaContext context) {
 		final IMethodCall call = executor.startCall(target);
 		return ModuleComputerCraft.ENV.addPeripheralArgs(call, computer, context);
 	}
 
+	private LuaException wrapException(Throwable e, int methodIndex, Object[] arguments) {
+		String methodName = methods.getMethodName(methodIndex);
+		Log.log(Level.DEBUG, e, "Error during method %s(%d) execution on peripheral %s, args: %s",
+				methodName, methodIndex, type, Arrays.toString(arguments));
+		return new LuaException(AdapterLogicException.getMessageForThrowable(e));
+	}
+
 	private Object[] executeCall(IMethodCall call, int methodIndex, Object[] arguments) throws LuaException, InterruptedException {
 		try {
 			return call.call(arguments);
@@ -77,10 +115,40 @@ public class AdapterPeripheral implements IPeripheral, IOpenPeripheral {
 		} catch (LuaException e) {
 			throw e;
 		} catch (Throwable e) {
-			String methodName = methods.getMethodName(methodIndex);
-			Log.log(Level.DEBUG, e, "Error during method %s(%d) execution on peripheral %s, args: %s",
-					methodName, methodIndex, type, Arrays.toString(arguments));
-			throw new LuaException(AdapterLogicException.getMessageForThrowable(e));
+			throw wrapException(e, methodIndex, arguments);
+		}
+	}
+
+	private Object[] executeSynchronousCall(ILuaContext context, TaskDeadline deadline, SynchronousExecutor.Validator validator, IMethodCall call, final int methodIndex, final Object[] arguments) throws LuaException, InterruptedException {
+		// only invocation needs main thread, so arguments (and detached results) are converted in computer thread
+		final IPreparedCall preparedCall;
+		try {
+			preparedCall = call.prepare(arguments);
+		} catch (LuaException e) {
+			throw e;
+		} catch (Throwable e) {
+			throw wrapException(e, methodIndex, arguments);
+		}
+
+		final Object[] invokeResult = SynchronousExecutor.executeInMainThread(context, deadline, validator, new SynchronousExecutor.Task() {
+			@Override
+			public Object[] execute() throws LuaException {
+				try {
+					return new Object[] { preparedCall.invoke() };
+				} catch (LuaException e) {
+					throw e;
+				} catch (Throwable e) {
+					throw wrapException(e, methodIndex, arguments);
+				}
+			}
+		});
+
+		try {
+			return preparedCall.convertResult(invokeResult[0]);
+		} catch (LuaException e) {
+			throw e;
+		} catch (Throwable e) {
+			throw wrapException(e, methodIndex, arguments);
 		}
 	}
 
@@ -99,32 +167,65 @@ public class AdapterPeripheral implements IPeripheral, IOpenPeripheral {
 		}
 	}
 
+	private void waitForCallBudget(IComputerAccess computer, ILuaContext context, IMethodExecutor method) throws LuaException, InterruptedException {
+		final String computerId = Constants.ARCH_COMPUTER_CRAFT + ":" + computer.getID();
+		final String methodName = method.description().getNames().get(0);
+		final boolean isSync = !method.isAsynchronous();
+
+		long retryTime;
+		while ((retryTime = CallRateLimiter.INSTANCE.tryAcquire(computerId, type, methodName, isSync)) > 0) {
+			if (!Config.waitWhenThrottled) throw new LuaException(CallRateLimiter.limitExceededMessage(retryTime));
+			// waiting on computer thread, since throttling is supposed to reduce main thread load
+			SynchronousExecutor.sleep(computer, context, retryTime);
+		}
+	}
+
 	@Override
 	public Object[] callMethod(final IComputerAccess computer, final ILuaContext context, final int index, final Object[] arguments) throws LuaException, InterruptedException {
 		// this should throw if peripheral isn't attached
 		computer.getAttachmentName();
 
+		if (!isTargetValid()) throw new LuaException(INVALID_TARGET_MESSAGE);
+
 		final IMethodExecutor method = methods.getMethod(index);
 		Preconditions.checkNotNull(method, "Invalid method index: %d", index);
 
+		waitForCallBudget(computer, context, method);
+
 		final IMethodCall preparedCall = prepareCall(method, computer, context);
 
+		final TaskDeadline deadline = TaskDeadline.start(method);
+		final SynchronousExecutor.Validator validator = new SynchronousExecutor.Validator() {
+			@Override
+			public boolean isValid() {
+				// queued main thread tasks are dropped when target is gone
+				return attachedComputers.contains(computer) && isTargetValid();
+			}
+		};
+
 		final Optional<String> returnSignal = method.getReturnSignal();
 		if (returnSignal.isPresent()) {
 			final int callbackId = SignallingGlobals.instance.nextCallbackId();
 			final String returnSignalId = returnSignal.get();
+			final Runnable task = new Runnable() {
+				@Override
+				public void run() {
+					// nobody to notify
+					if (!attachedComputers.contains(computer)) return;
+
+					if (!isTargetValid()) computer.queueEvent(returnSignalId, new Object[] { callbackId, false, INVALID_TARGET_MESSAGE });
+					else if (deadline.hasExpired()) computer.queueEvent(returnSignalId, new Object[] { callbackId, false, deadline.timeoutMessage() });
+					else computer.queueEvent(returnSignalId, executeToSignal(callbackId, index, preparedCall, arguments));
+				}
+			};
+
 			if (method.isAsynchronous()) {
-				SignallingGlobals.instance.scheduleTask(new Runnable() {
-					@Override
-					public void run() {
-						computer.queueEvent(returnSignalId, executeToSignal(callbackId, index, preparedCall, arguments));
-					}
-				});
+				SignallingGlobals.instance.scheduleTask(task);
 			} else {
 				context.issueMainThreadTask(new ILuaTask() {
 					@Override
 					public Object[] execute() {
-						computer.queueEvent(returnSignalId, executeToSignal(callbackId, index, preparedCall, arguments));
+						task.run();
 						// this will be used as 'task_complete' result, so we will ignore it
 						return NULL;
 					}
@@ -133,20 +234,14 @@ public class AdapterPeripheral implements IPeripheral, IOpenPeripheral {
 			return new Object[] { callbackId };
 		} else {
 			if (method.isAsynchronous()) return executeCall(preparedCall, index, arguments);
-			else {
-				Object[] results = SynchronousExecutor.executeInMainThread(context, new SynchronousExecutor.Task() {
-					@Override
-					public Object[] execute() throws LuaException, InterruptedException {
-						return executeCall(preparedCall, index, arguments);
-					}
-				});
-				return results;
-			}
+			else return executeSynchronousCall(context, deadline, validator, preparedCall, index, arguments);
 		}
 	}
 
 	@Override
 	public void attach(IComputerAccess computer) {
+		attachedComputers.add(computer);
+		AttachedPeripherals.INSTANCE.add(computer, this);
 		computer.mount(MOUNT_NAME, AdapterPeripheral.MOUNT);
 		computer.mount("rom/help/" + computer.getAttachmentName(), docMount);
 		if (target instanceof IAttachable) {
@@ -158,6 +253,9 @@ public class AdapterPeripheral implements IPeripheral, IOpenPeripheral {
 
 	@Override
 	public void detach(IComputerAccess computer) {
+		attachedComputers.remove(computer);
+		AttachedPeripherals.INSTANCE.remove(computer);
+
 		if (target instanceof IAttachable) {
 			IArchitectureAccess access = accessCache.remove(computer);
 			if (access != null) ((IAttachable)target).removeComputer(access);
@@ -0,0 +1,70 @@
+package openperipheral.interfaces.cc.wrappers;
+
+import com.google.common.collect.Maps;
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.api.peripheral.IComputerAccess;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import openperipheral.adapter.IMethodCall;
+import openperipheral.adapter.IMethodExecutor;
+
+/**
+ * Tracks OpenPeripheral peripherals attached to computers, so calls can be forwarded to other peripherals visible to the same computer.
+ */
+public class AttachedPeripherals {
+
+	public static final AttachedPeripherals INSTANCE = new AttachedPeripherals();
+
+	public static class Member {
+		public final AdapterPeripheral peripheral;
+		public final IComputerAccess computer;
+
+		private Member(AdapterPeripheral peripheral, IComputerAccess computer) {
+			this.peripheral = peripheral;
+			this.computer = computer;
+		}
+
+		public IMethodExecutor getMethod(String name) {
+			return peripheral.getMethod(name);
+		}
+
+		public IMethodCall startCall(IMethodExecutor executor, ILuaContext context) {
+			return peripheral.prepareCall(executor, computer, context);
+		}
+	}
+
+	private final ConcurrentMap<Integer, ConcurrentMap<String, Member>> computers = Maps.newConcurrentMap();
+
+	// lookups are lock-free, lock only keeps empty maps from being dropped while other peripheral is added
+	public synchronized void add(IComputerAccess computer, AdapterPeripheral peripheral) {
+		final int computerId = computer.getID();
+		ConcurrentMap<String, Member> members = computers.get(computerId);
+		if (members == null) {
+			members = Maps.newConcurrentMap();
+			computers.put(computerId, members);
+		}
+
+		members.put(computer.getAttachmentName(), new Member(peripheral, computer));
+	}
+
+	public synchronized void remove(IComputerAccess computer) {
+		final int computerId = computer.getID();
+		final ConcurrentMap<String, Member> members = computers.get(computerId);
+		if (members == null) return;
+
+		// attachment name may be no longer available, so searching by identity
+		for (Map.Entry<String, Member> e : members.entrySet())
+			if (e.getValue().computer == computer) members.remove(e.getKey(), e.getValue());
+
+		if (members.isEmpty()) computers.remove(computerId);
+	}
+
+	public int getComputerCount() {
+		return computers.size();
+	}
+
+	public Member find(int computerId, String name) {
+		final ConcurrentMap<String, Member> members = computers.get(computerId);
+		return members != null? members.get(name) : null;
+	}
+}
@@ -9,7 +9,9 @@ import openmods.Log;
 import openperipheral.adapter.AdapterLogicException;
 import openperipheral.adapter.IMethodCall;
 import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.IPreparedCall;
 import openperipheral.adapter.composed.IndexedMethodMap;
+import openperipheral.adapter.wrappers.TaskDeadline;
 import openperipheral.api.adapter.GenerationFailedException;
 import openperipheral.interfaces.cc.ModuleComputerCraft;
 import openperipheral.interfaces.cc.SynchronousExecutor;
@@ -40,10 +42,48 @@ public class LuaObjectWrapper {
 			} catch (LuaException e) {
 				throw e;
 			} catch (Throwable e) {
-				String methodName = methods.getMethodName(methodIndex);
-				Log.log(Level.DEBUG, e, "Internal error during method %s(%d) execution on object %s, args: %s",
-						methodName, methodIndex, target.getClass(), Arrays.toString(arguments));
-				throw new LuaException(AdapterLogicException.getMessageForThrowable(e));
+				throw wrapException(e, methodIndex, arguments);
+			}
+		}
+
+		private LuaException wrapException(Throwable e, int methodIndex, Object[] arguments) {
+			String methodName = methods.getMethodName(methodIndex);
+			Log.log(Level.DEBUG, e, "Internal error during method %s(%d) execution on object %s, args: %s",
+					methodName, methodIndex, target.getClass(), Arrays.toString(arguments));
+			return new LuaException(AdapterLogicException.getMessageForThrowable(e));
+		}
+
+		private Object[] callSynchronous(final int methodIndex, IMethodExecutor executor, ILuaContext context, final Object[] arguments) throws LuaException, InterruptedException {
+			// arguments and detached results are converted in computer thread
+			final IPreparedCall preparedCall;
+			try {
+				final IMethodCall call = executor.startCall(target);
+				preparedCall = ModuleComputerCraft.ENV.addObjectArgs(call, context).prepare(arguments);
+			} catch (LuaException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw wrapException(e, methodIndex, arguments);
+			}
+
+			final Object[] invokeResult = SynchronousExecutor.executeInMainThread(context, TaskDeadline.start(executor), SynchronousExecutor.ALWAYS_VALID, new SynchronousExecutor.Task() {
+				@Override
+				public Object[] execute() throws LuaException {
+					try {
+						return new Object[] { preparedCall.invoke() };
+					} catch (LuaException e) {
+						throw e;
+					} catch (Throwable e) {
+						throw wrapException(e, methodIndex, arguments);
+					}
+				}
+			});
+
+			try {
+				return preparedCall.convertResult(invokeResult[0]);
+			} catch (LuaException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw wrapException(e, methodIndex, arguments);
 			}
 		}
 
@@ -53,15 +93,7 @@ public class LuaObjectWrapper {
 			Preconditions.checkNotNull(method, "Invalid method index: %d", index);
 
 			if (method.isAsynchronous()) return call(index, method, context, arguments);
-			else {
-				Object[] result = SynchronousExecutor.executeInMainThread(context, new SynchronousExecutor.Task() {
-					@Override
-					public Object[] execute() throws LuaException, InterruptedException {
-						return call(index, method, context, arguments);
-					}
-				});
-				return result;
-			}
+			else return callSynchronous(index, method, context, arguments);
 		}
 	}
 
@@ -75,4 +107,8 @@ public class LuaObjectWrapper {
 			throw new GenerationFailedException(String.format("%s (%s)", target, target.getClass()), t);
 		}
 	}
+
+	public static ILuaObject wrap(IndexedMethodMap methods, Object target) {
+		return new WrappedLuaObject(methods, target);
+	}
 }
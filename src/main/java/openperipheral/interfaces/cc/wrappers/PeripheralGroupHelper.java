@@ -0,0 +1,162 @@
+package openperipheral.interfaces.cc.wrappers;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.api.peripheral.IComputerAccess;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import openperipheral.Config;
+import openperipheral.adapter.AdapterLogicException;
+import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.IPreparedCall;
+import openperipheral.adapter.wrappers.CallRateLimiter;
+import openperipheral.adapter.wrappers.SignallingGlobals;
+import openperipheral.adapter.wrappers.TaskDeadline;
+import openperipheral.api.Constants;
+import openperipheral.api.adapter.Asynchronous;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.Env;
+import openperipheral.api.adapter.method.IMultiReturn;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.helpers.MultiReturn;
+import openperipheral.interfaces.cc.SynchronousExecutor;
+
+/**
+ * Calls same method on many peripherals attached to caller computer. Synchronous methods are all called in single main thread task, asynchronous ones in signalling thread pool.
+ */
+@Asynchronous
+public class PeripheralGroupHelper {
+
+	private static class MemberCall {
+		private final String name;
+		private final IPreparedCall call;
+		private volatile Object invokeResult;
+		private volatile boolean finished;
+
+		public MemberCall(String name, IPreparedCall call) {
+			this.name = name;
+			this.call = call;
+		}
+	}
+
+	private static String getMessage(Throwable t) {
+		return AdapterLogicException.getMessageForThrowable(t);
+	}
+
+	@ScriptCallable(returnTypes = { ReturnType.TABLE, ReturnType.TABLE }, description = "Calls method on many OpenPeripheral peripherals attached to this computer. Returns results and errors, both keyed by peripheral name")
+	public IMultiReturn callMany(@Env(Constants.ARG_COMPUTER) IComputerAccess computer,
+			@Env(Constants.ARG_CONTEXT) ILuaContext context,
+			@Arg(name = "names", description = "Names of peripherals") String[] names,
+			@Arg(name = "method", description = "Name of method") String method,
+			@Arg(name = "args", description = "Arguments passed to every call") Object... args) throws LuaException, InterruptedException {
+		final Map<String, Object> results = Maps.newConcurrentMap();
+		final Map<String, String> errors = Maps.newConcurrentMap();
+
+		final List<MemberCall> syncCalls = Lists.newArrayList();
+		final List<MemberCall> asyncCalls = Lists.newArrayList();
+
+		final String computerId = Constants.ARCH_COMPUTER_CRAFT + ":" + computer.getID();
+
+		for (String name : names) {
+			final AttachedPeripherals.Member member = AttachedPeripherals.INSTANCE.find(computer.getID(), name);
+			if (member == null) {
+				errors.put(name, "No OpenPeripheral peripheral with this name");
+				continue;
+			}
+
+			if (!member.peripheral.isTargetValid()) {
+				errors.put(name, AdapterPeripheral.INVALID_TARGET_MESSAGE);
+				continue;
+			}
+
+			final IMethodExecutor executor = member.getMethod(method);
+			if (executor == null) {
+				errors.put(name, "No such method: " + method);
+				continue;
+			}
+
+			final long retryTime = CallRateLimiter.INSTANCE.tryAcquire(computerId, member.peripheral.getType(), method, !executor.isAsynchronous());
+			if (retryTime > 0) {
+				errors.put(name, CallRateLimiter.limitExceededMessage(retryTime));
+				continue;
+			}
+
+			try {
+				// arguments are converted separately for every member, since conversion may depend on target
+				final IPreparedCall call = member.startCall(executor, context).prepare(args);
+				(executor.isAsynchronous()? asyncCalls : syncCalls).add(new MemberCall(name, call));
+			} catch (Throwable t) {
+				errors.put(name, getMessage(t));
+			}
+		}
+
+		final CountDownLatch asyncFinished = new CountDownLatch(asyncCalls.size());
+		for (final MemberCall call : asyncCalls) {
+			final Runnable task = new Runnable() {
+				@Override
+				public void run() {
+					try {
+						results.put(call.name, call.call.convertResult(call.call.invoke()));
+					} catch (Throwable t) {
+						errors.put(call.name, getMessage(t));
+					} finally {
+						call.finished = true;
+						asyncFinished.countDown();
+					}
+				}
+			};
+
+			try {
+				SignallingGlobals.instance.scheduleTask(task);
+			} catch (RejectedExecutionException e) {
+				task.run();
+			}
+		}
+
+		if (!syncCalls.isEmpty()) {
+			SynchronousExecutor.executeInMainThread(context, TaskDeadline.start(Config.callTimeout), SynchronousExecutor.ALWAYS_VALID, new SynchronousExecutor.Task() {
+				@Override
+				public Object[] execute() {
+					for (MemberCall call : syncCalls) {
+						try {
+							call.invokeResult = call.call.invoke();
+						} catch (Throwable t) {
+							errors.put(call.name, getMessage(t));
+						}
+					}
+					return SynchronousExecutor.DUMMY;
+				}
+			});
+
+			for (MemberCall call : syncCalls) {
+				if (errors.containsKey(call.name)) continue;
+				try {
+					results.put(call.name, call.call.convertResult(call.invokeResult));
+				} catch (Throwable t) {
+					errors.put(call.name, getMessage(t));
+				}
+			}
+		}
+
+		if (Config.callTimeout > 0) {
+			if (!asyncFinished.await(Config.callTimeout, TimeUnit.MILLISECONDS)) {
+				// abandoned calls may still finish later, so result maps are copied before returning
+				for (MemberCall call : asyncCalls)
+					if (!call.finished) errors.put(call.name, "Call not finished within " + Config.callTimeout + " ms");
+			}
+		} else {
+			asyncFinished.await();
+		}
+
+		final Map<String, Object> resultsCopy = Maps.newHashMap(results);
+		final Map<String, String> errorsCopy = Maps.newHashMap(errors);
+		resultsCopy.keySet().removeAll(errorsCopy.keySet());
+		return MultiReturn.wrap(resultsCopy, errorsCopy);
+	}
+}
@@ -1,12 +1,27 @@
 package openperipheral.interfaces.oc;
 
+import li.cil.oc.api.machine.Value;
 import openperipheral.converter.inbound.ConverterCallable;
+import openperipheral.interfaces.oc.providers.IEnviromentInstanceWrapper;
 
 public class ConverterCallableOC extends ConverterCallable {
 
 	@Override
-	protected Object wrap(Object o) {
-		return ModuleOpenComputers.wrapObject(o);
+	protected IWrapperFactory createFactory(Class<?> cls) {
+		final IEnviromentInstanceWrapper<Value> wrapper = ModuleOpenComputers.OBJECT_METHODS_FACTORY.getAdaptedClass(cls);
+		if (wrapper.isEmpty()) return NULL_FACTORY;
+
+		return new IWrapperFactory() {
+			@Override
+			public Object wrap(Object target) {
+				return wrapper.createEnvironment(target);
+			}
+		};
+	}
+
+	@Override
+	protected long currentEpoch() {
+		return ModuleOpenComputers.OBJECT_METHODS_FACTORY.getEpoch();
 	}
 
 }
@@ -0,0 +1,13 @@
+package openperipheral.interfaces.oc;
+
+import openperipheral.converter.outbound.ConverterPackedArrayOutbound;
+
+public class ConverterPackedArrayOC extends ConverterPackedArrayOutbound {
+
+	@Override
+	protected Object wrap(byte[] data) {
+		// OC passes byte arrays to Lua as strings
+		return data;
+	}
+
+}
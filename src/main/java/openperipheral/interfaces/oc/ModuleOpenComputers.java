@@ -10,6 +10,7 @@ import openmods.access.ApiProviderRegistry;
 import openmods.injector.InjectedClassesManager;
 import openperipheral.CommandDump;
 import openperipheral.adapter.AdapterRegistry;
+import openperipheral.adapter.composed.CallChainHelper;
 import openperipheral.adapter.composed.ComposedMethodsFactory;
 import openperipheral.adapter.composed.MethodSelector;
 import openperipheral.adapter.types.SingleArgType;
@@ -68,6 +69,8 @@ public class ModuleOpenComputers {
 
 		InjectedClassesManager.instance.registerProvider(OBJECT_CLASS_PREFIX, new EnvironmentClassBytesProvider<Value>(OBJECT_METHODS_FACTORY));
 
+		CallChainHelper.registerObjectMethods(Constants.ARCH_OPEN_COMPUTERS, OBJECT_METHODS_FACTORY);
+
 		CommandDump.addArchSerializer("OpenComputers", "peripheral", DocBuilder.TILE_ENTITY_DECORATOR, PERIPHERAL_METHODS_FACTORY);
 		CommandDump.addArchSerializer("OpenComputers", "object", DocBuilder.SCRIPT_OBJECT_DECORATOR, OBJECT_METHODS_FACTORY);
 
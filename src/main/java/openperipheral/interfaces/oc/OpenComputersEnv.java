@@ -8,6 +8,7 @@ import openperipheral.api.architecture.IArchitecture;
 import openperipheral.api.architecture.IArchitectureAccess;
 import openperipheral.api.converter.IConverter;
 import openperipheral.api.helpers.Index;
+import openperipheral.interfaces.SignalDispatcher;
 
 public class OpenComputersEnv {
 
@@ -40,7 +41,7 @@ public class OpenComputersEnv {
 		}
 	}
 
-	private static class OCArchitectureAccess extends OCArchitecture implements IArchitectureAccess {
+	private static class OCArchitectureAccess extends OCArchitecture implements IArchitectureAccess, SignalDispatcher.ISignalTarget {
 		private final Node ownNode;
 		private final Context context;
 
@@ -67,6 +68,11 @@ public class OpenComputersEnv {
 
 		@Override
 		public boolean signal(String name, Object... args) {
+			return SignalDispatcher.INSTANCE.signal(this, name, args);
+		}
+
+		@Override
+		public boolean deliverSignal(String name, Object[] args) {
 			return context.signal(name, args);
 		}
 	}
@@ -11,5 +11,6 @@ public class TypeConversionRegistryOC extends TypeConverter {
 		super(LUA_OFFSET);
 		registerIgnored(Value.class, true);
 		outbound.addFirst(new ConverterCallableOC());
+		outbound.addFirst(new ConverterPackedArrayOC());
 	}
 }
@@ -0,0 +1,67 @@
+package openperipheral.interfaces.oc.asm;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+public class EnvironmentFactoryGenerator {
+
+	private static final Type OBJECT_TYPE = Type.getType(Object.class);
+
+	private static final Type FACTORY_TYPE = Type.getType(IEnvironmentFactory.class);
+
+	private static final Type SUPER_CTOR_TYPE = Type.getMethodType(Type.VOID_TYPE);
+
+	private static final Type CREATE_TYPE = Type.getMethodType(OBJECT_TYPE, OBJECT_TYPE);
+
+	private static String internalName(String clsName) {
+		return clsName.replace('.', '/');
+	}
+
+	public byte[] generate(String clsName, String environmentClsName, Class<?> targetClass) {
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+
+		writer.visit(Opcodes.V1_6,
+				Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC | Opcodes.ACC_SUPER,
+				internalName(clsName), null, OBJECT_TYPE.getInternalName(), new String[] { FACTORY_TYPE.getInternalName() });
+
+		createConstructor(writer);
+		createFactoryMethod(writer, internalName(environmentClsName), Type.getType(targetClass));
+
+		writer.visitEnd();
+
+		return writer.toByteArray();
+	}
+
+	private static void createConstructor(ClassWriter writer) {
+		MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_SYNTHETIC, "<init>", SUPER_CTOR_TYPE.getDescriptor(), null, null);
+		init.visitCode();
+
+		init.visitVarInsn(Opcodes.ALOAD, 0);
+		init.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT_TYPE.getInternalName(), "<init>", SUPER_CTOR_TYPE.getDescriptor(), false);
+		init.visitInsn(Opcodes.RETURN);
+
+		init.visitMaxs(0, 0);
+
+		init.visitEnd();
+	}
+
+	private static void createFactoryMethod(ClassWriter writer, String environmentClsName, Type targetType) {
+		final Type ctorType = Type.getMethodType(Type.VOID_TYPE, targetType);
+
+		MethodVisitor create = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_SYNTHETIC, "create", CREATE_TYPE.getDescriptor(), null, null);
+		create.visitCode();
+
+		create.visitTypeInsn(Opcodes.NEW, environmentClsName); // env
+		create.visitInsn(Opcodes.DUP); // env, env
+		create.visitVarInsn(Opcodes.ALOAD, 1); // env, env, target
+		create.visitTypeInsn(Opcodes.CHECKCAST, targetType.getInternalName()); // env, env, target
+		create.visitMethodInsn(Opcodes.INVOKESPECIAL, environmentClsName, "<init>", ctorType.getDescriptor(), false); // env
+		create.visitInsn(Opcodes.ARETURN);
+
+		create.visitMaxs(0, 0);
+
+		create.visitEnd();
+	}
+}
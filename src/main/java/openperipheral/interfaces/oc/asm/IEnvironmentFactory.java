@@ -0,0 +1,9 @@
+package openperipheral.interfaces.oc.asm;
+
+/**
+ * Implemented by generated classes, so environments can be created without reflection
+ */
+public interface IEnvironmentFactory {
+	// Used in ASM, don't rename
+	public Object create(Object target);
+}
@@ -12,6 +12,8 @@ import openmods.utils.CachedFactory;
 import openperipheral.adapter.IMethodCall;
 import openperipheral.adapter.IMethodExecutor;
 import openperipheral.adapter.PeripheralTypeProvider;
+import openperipheral.adapter.wrappers.CallRateLimiter;
+import openperipheral.api.Constants;
 import openperipheral.api.architecture.IArchitectureAccess;
 import openperipheral.api.architecture.IAttachable;
 import openperipheral.api.architecture.oc.IOpenComputersAttachable;
@@ -37,8 +39,16 @@ public class PeripheralEnvironmentBase extends ManagedEnvironment implements Nam
 				.create());
 	}
 
+	protected void checkCallBudget(IMethodExecutor executor, Context context) {
+		final String computerId = Constants.ARCH_OPEN_COMPUTERS + ":" + context.node().address();
+		final String methodName = executor.description().getNames().get(0);
+		final long retryTime = CallRateLimiter.INSTANCE.tryAcquire(computerId, type, methodName, !executor.isAsynchronous());
+		if (retryTime > 0) throw new IllegalStateException(CallRateLimiter.limitExceededMessage(retryTime));
+	}
+
 	@Override
 	public Object[] call(Object target, IMethodExecutor executor, Context context, Arguments arguments) throws Exception {
+		checkCallBudget(executor, context);
 		Object[] args = arguments.toArray();
 		return prepareCall(target, executor, context).call(args);
 	}
@@ -10,6 +10,7 @@ import openmods.Log;
 import openperipheral.adapter.IMethodCall;
 import openperipheral.adapter.IMethodExecutor;
 import openperipheral.adapter.wrappers.SignallingGlobals;
+import openperipheral.adapter.wrappers.TaskDeadline;
 import openperipheral.interfaces.oc.asm.ISignallingCallerBase;
 import org.apache.logging.log4j.Level;
 
@@ -59,16 +60,22 @@ public class TickablePeripheralEnvironmentBase extends PeripheralEnvironmentBase
 	};
 
 	protected Object[] executeSignallingTask(ITaskSink taskSink, Object target, IMethodExecutor executor, final String signal, final Context context, Arguments arguments) {
+		checkCallBudget(executor, context);
 		final Object[] args = arguments.toArray();
 		final IMethodCall preparedCall = prepareCall(target, executor, context);
 		final int callbackId = SignallingGlobals.instance.nextCallbackId();
+		final TaskDeadline deadline = TaskDeadline.start(executor);
 
 		taskSink.accept(new Runnable() {
 			@Override
 			public void run() {
 				if (context.isRunning() || context.isPaused()) {
-					Object[] result = callForSignal(args, preparedCall, callbackId);
-					context.signal(signal, result);
+					if (deadline.hasExpired()) {
+						context.signal(signal, callbackId, false, deadline.timeoutMessage());
+					} else {
+						Object[] result = callForSignal(args, preparedCall, callbackId);
+						context.signal(signal, result);
+					}
 				}
 			}
 		});
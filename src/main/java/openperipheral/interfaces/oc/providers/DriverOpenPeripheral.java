@@ -13,6 +13,8 @@ public class DriverOpenPeripheral implements li.cil.oc.api.driver.Block {
 
 	private final Map<Class<?>, Boolean> cache = Maps.newHashMap();
 
+	private long cacheEpoch = -1;
+
 	@Override
 	public boolean worksWith(World world, int x, int y, int z) {
 		final TileEntity te = world.getTileEntity(x, y, z);
@@ -20,6 +22,12 @@ public class DriverOpenPeripheral implements li.cil.oc.api.driver.Block {
 
 		final Class<?> cls = te.getClass();
 
+		final long epoch = ModuleOpenComputers.PERIPHERAL_METHODS_FACTORY.getEpoch() + TileEntityBlacklist.INSTANCE.getEpoch();
+		if (epoch != cacheEpoch) {
+			cache.clear();
+			cacheEpoch = epoch;
+		}
+
 		Boolean result = cache.get(cls);
 
 		if (result == null) {
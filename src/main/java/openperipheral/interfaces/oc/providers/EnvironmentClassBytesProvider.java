@@ -20,13 +20,13 @@ public class EnvironmentClassBytesProvider<T> implements IClassBytesProvider {
 		 * Well, that was initial plan, but then I wanted to have class generation directly in class loader,
 		 * so OC deserializer can at least partially work (i.e. return non-functional but valid instance instead of erroring)
 		 */
-		String clsName = NameUtils.degrumize(arg);
+		String clsName = NameUtils.degrumize(EnvironmentMethodsFactory.stripGeneration(arg));
 
 		try {
 			Class<?> targetCls = Class.forName(clsName);
 
 			IEnviromentInstanceWrapper<T> wrapper = factory.getAdaptedClass(targetCls);
-			return wrapper.isEmpty()? null : wrapper.getClassBytes();
+			return wrapper.isEmpty()? null : wrapper.getClassBytes(fullClassName);
 		} catch (Throwable t) {
 			throw Throwables.propagate(t);
 		}
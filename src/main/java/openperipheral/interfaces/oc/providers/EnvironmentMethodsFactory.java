@@ -6,8 +6,10 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import openmods.Log;
 import openmods.injector.InjectedClassesManager;
 import openperipheral.adapter.AdapterRegistry;
@@ -15,12 +17,21 @@ import openperipheral.adapter.IMethodExecutor;
 import openperipheral.adapter.composed.ComposedMethodsFactory;
 import openperipheral.adapter.composed.IndexedMethodMap;
 import openperipheral.api.peripheral.ExposeInterface;
+import openperipheral.interfaces.oc.asm.EnvironmentFactoryGenerator;
 import openperipheral.interfaces.oc.asm.ICodeGenerator;
+import openperipheral.interfaces.oc.asm.IEnvironmentFactory;
 import openperipheral.interfaces.oc.asm.MethodsStore;
 import openperipheral.util.NameUtils;
 
 public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviromentInstanceWrapper<T>> {
 
+	private static final String FACTORY_SUFFIX = "$Factory";
+
+	// appended to names of classes generated after invalidation, since old ones can't be unloaded
+	private static final char GENERATION_SEPARATOR = '\u2604';
+
+	private static final EnvironmentFactoryGenerator factoryGenerator = new EnvironmentFactoryGenerator();
+
 	private static final BytecodeClassLoader fallbackClassLoader = new BytecodeClassLoader();
 
 	private static class BytecodeClassLoader extends ClassLoader {
@@ -46,14 +57,20 @@ public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviro
 		private final byte[] bytes;
 		private final Class<?> targetCls;
 		private final Map<String, IMethodExecutor> methods;
+		private final IndexedMethodMap methodMap;
+		private final Set<Class<?>> exposedInterfaces;
+		private final ICodeGenerator generator;
 
-		private Constructor<? extends T> ctor;
+		private IEnvironmentFactory factory;
 
-		public Wrapper(String generatedClsName, byte[] bytes, Class<?> targetCls, Map<String, IMethodExecutor> methods) {
+		public Wrapper(String generatedClsName, byte[] bytes, Class<?> targetCls, Map<String, IMethodExecutor> methods, IndexedMethodMap methodMap, Set<Class<?>> exposedInterfaces, ICodeGenerator generator) {
 			this.generatedClsName = generatedClsName;
 			this.bytes = bytes;
 			this.targetCls = targetCls;
 			this.methods = methods;
+			this.methodMap = methodMap;
+			this.exposedInterfaces = exposedInterfaces;
+			this.generator = generator;
 		}
 
 		private Class<?> defineClass() throws Exception {
@@ -66,27 +83,54 @@ public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviro
 			}
 		}
 
-		private Constructor<? extends T> getConstructor() {
-			if (ctor == null) {
+		private IEnvironmentFactory createReflectionFactory(Class<?> cls) throws Exception {
+			final Constructor<?> ctor = cls.getConstructor(targetCls);
+			return new IEnvironmentFactory() {
+				@Override
+				public Object create(Object target) {
+					try {
+						return ctor.newInstance(target);
+					} catch (Exception e) {
+						throw Throwables.propagate(e);
+					}
+				}
+			};
+		}
+
+		private IEnvironmentFactory createFactory() throws Exception {
+			final Class<?> cls = defineClass();
+
+			// generated factory casts target, so it can only be used when target class is accessible from anywhere
+			if (!Modifier.isPublic(targetCls.getModifiers())) return createReflectionFactory(cls);
+
+			final String factoryClsName = cls.getName() + FACTORY_SUFFIX;
+			try {
+				final byte[] factoryBytes = factoryGenerator.generate(factoryClsName, cls.getName(), targetCls);
+				// factory is never serialized, so no need for injection. Environment class is visible from this loader, no matter how it was loaded
+				final Class<?> factoryCls = fallbackClassLoader.define(factoryClsName, factoryBytes);
+				return (IEnvironmentFactory)factoryCls.newInstance();
+			} catch (Throwable t) {
+				Log.warn(t, "Failed to generate factory for %s, falling back to reflection", cls);
+				return createReflectionFactory(cls);
+			}
+		}
+
+		private IEnvironmentFactory getFactory() {
+			if (factory == null) {
 				try {
-					@SuppressWarnings("unchecked")
-					Class<? extends T> cls = (Class<? extends T>)defineClass();
-					ctor = cls.getConstructor(targetCls);
+					factory = createFactory();
 				} catch (Throwable t) {
 					throw Throwables.propagate(t);
 				}
 			}
 
-			return ctor;
+			return factory;
 		}
 
 		@Override
+		@SuppressWarnings("unchecked")
 		public T createEnvironment(Object target) {
-			try {
-				return getConstructor().newInstance(target);
-			} catch (Exception e) {
-				throw Throwables.propagate(e);
-			}
+			return (T)getFactory().create(target);
 		}
 
 		@Override
@@ -99,6 +143,11 @@ public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviro
 			return methods.size();
 		}
 
+		@Override
+		public IMethodExecutor getMethod(String name) {
+			return methods.get(name);
+		}
+
 		@Override
 		public void visitMethods(IMethodVisitor visitor) {
 			for (Map.Entry<String, IMethodExecutor> e : methods.entrySet())
@@ -106,8 +155,12 @@ public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviro
 		}
 
 		@Override
-		public byte[] getClassBytes() {
-			return bytes;
+		public byte[] getClassBytes(String clsName) {
+			if (clsName.equals(generatedClsName)) return bytes;
+
+			// class from other generation (i.e. restored from save), so giving it current methods
+			final int methodsId = MethodsStore.drop(methodMap.getMethods());
+			return generator.generate(clsName, targetCls, exposedInterfaces, methodMap, methodsId);
 		}
 	}
 
@@ -127,11 +180,16 @@ public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviro
 			return 0;
 		}
 
+		@Override
+		public IMethodExecutor getMethod(String name) {
+			return null;
+		}
+
 		@Override
 		public void visitMethods(IMethodVisitor visitor) {}
 
 		@Override
-		public byte[] getClassBytes() {
+		public byte[] getClassBytes(String clsName) {
 			return null;
 		}
 	};
@@ -140,12 +198,24 @@ public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviro
 
 	private final String classProviderId;
 
+	private final AtomicInteger generation = new AtomicInteger();
+
 	public EnvironmentMethodsFactory(AdapterRegistry adapters, Predicate<IMethodExecutor> selector, String classProviderId, ICodeGenerator generator) {
 		super(adapters, selector);
 		this.generator = generator;
 		this.classProviderId = classProviderId;
 	}
 
+	public static String stripGeneration(String classArg) {
+		final int separator = classArg.indexOf(GENERATION_SEPARATOR);
+		return separator >= 0? classArg.substring(0, separator) : classArg;
+	}
+
+	@Override
+	protected void onInvalidate() {
+		generation.incrementAndGet();
+	}
+
 	@Override
 	protected IEnviromentInstanceWrapper<T> wrapMethods(Class<?> targetCls, Map<String, IMethodExecutor> methods) {
 		if (methods.isEmpty()) return DUMMY;
@@ -158,13 +228,17 @@ public class EnvironmentMethodsFactory<T> extends ComposedMethodsFactory<IEnviro
 
 		String obfTargetClass = NameUtils.grumize(targetCls);
 
-		String generatedClassName = InjectedClassesManager.instance.createClassName(classProviderId, obfTargetClass);
+		int currentGeneration = generation.get();
+
+		String classArg = currentGeneration == 0? obfTargetClass : obfTargetClass + GENERATION_SEPARATOR + currentGeneration;
+
+		String generatedClassName = InjectedClassesManager.instance.createClassName(classProviderId, classArg);
 
 		int methodsId = MethodsStore.drop(methodMap.getMethods());
 
 		byte[] bytes = generator.generate(generatedClassName, targetCls, exposedInterfaces, methodMap, methodsId);
 
-		return new Wrapper<T>(generatedClassName, bytes, targetCls, methods);
+		return new Wrapper<T>(generatedClassName, bytes, targetCls, methods, methodMap, exposedInterfaces, generator);
 
 	}
 
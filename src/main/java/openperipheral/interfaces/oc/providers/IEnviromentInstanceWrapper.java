@@ -3,7 +3,7 @@ package openperipheral.interfaces.oc.providers;
 import openperipheral.adapter.composed.IMethodMap;
 
 public interface IEnviromentInstanceWrapper<T> extends IMethodMap {
-	public byte[] getClassBytes();
+	public byte[] getClassBytes(String clsName);
 
 	public T createEnvironment(Object target);
 }
@@ -2,25 +2,33 @@ package openperipheral.meta;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.Vec3;
+import openperipheral.api.adapter.method.IMultiReturn;
 import openperipheral.api.adapter.method.ScriptObject;
+import openperipheral.api.converter.IConverter;
+import openperipheral.api.meta.IEntityBatchMetaBuilder;
 import openperipheral.api.meta.IEntityCustomMetaProvider;
 import openperipheral.api.meta.IEntityMetaProvider;
 import openperipheral.api.meta.IEntityPartialMetaBuilder;
+import openperipheral.api.meta.IMetaProviderDeltaProxy;
 import openperipheral.api.meta.IMetaProviderProxy;
 
-public class EntityMetadataBuilder implements IEntityPartialMetaBuilder {
+public class EntityMetadataBuilder implements IEntityPartialMetaBuilder, IEntityBatchMetaBuilder {
 
 	@ScriptObject
-	private static class Proxy implements IMetaProviderProxy {
+	private static class Proxy implements IMetaProviderDeltaProxy {
 		private final Map<String, IEntityMetaProvider<?>> providers;
 		private final Vec3 relativePos;
 		private final Entity entity;
+		private final MetaDeltaTracker deltaTracker = new MetaDeltaTracker();
 
 		private Proxy(Map<String, IEntityMetaProvider<?>> providers, Vec3 relativePos, Entity entity) {
 			this.providers = ImmutableMap.copyOf(providers);
@@ -65,6 +73,47 @@ public class EntityMetadataBuilder implements IEntityPartialMetaBuilder {
 			IEntityMetaProvider<?> provider = providers.get(key);
 			return provider != null? getProperty(entity, relativePos, provider) : null;
 		}
+
+		@Override
+		public IMultiReturn changes(IConverter converter, Integer since) {
+			return deltaTracker.update(converter, all(), since);
+		}
+	}
+
+	private static class ProviderGroup {
+		private final List<IEntityMetaProvider<?>> providers = Lists.newArrayList();
+
+		private final List<IEntityCustomMetaProvider<?>> customProviders = Lists.newArrayList();
+
+		public ProviderGroup(Class<?> cls, String[] keys) {
+			final Map<String, IEntityMetaProvider<?>> allProviders = MetaProvidersRegistry.ENITITES.getProviders(cls);
+			if (keys.length == 0) {
+				for (IEntityMetaProvider<?> provider : allProviders.values())
+					add(provider);
+			} else {
+				for (String key : keys) {
+					final IEntityMetaProvider<?> provider = allProviders.get(key);
+					if (provider != null) add(provider);
+				}
+			}
+		}
+
+		private void add(IEntityMetaProvider<?> provider) {
+			if (provider instanceof IEntityCustomMetaProvider) customProviders.add((IEntityCustomMetaProvider<?>)provider);
+			else providers.add(provider);
+		}
+
+		@SuppressWarnings("unchecked")
+		public void fill(Map<String, Object> map, Entity entity, Vec3 relativePos) {
+			fillCustomProperties(map, providers, entity, relativePos);
+
+			for (IEntityCustomMetaProvider<?> provider : customProviders) {
+				if (((IEntityCustomMetaProvider<Entity>)provider).canApply(entity)) {
+					Object converted = getProperty(entity, relativePos, provider);
+					if (converted != null) map.put(provider.getKey(), converted);
+				}
+			}
+		}
 	}
 
 	private static void fillCustomProperties(Map<String, Object> map, final Iterable<IEntityMetaProvider<?>> providers, Entity entity, Vec3 relativePos) {
@@ -111,7 +160,7 @@ public class EntityMetadataBuilder implements IEntityPartialMetaBuilder {
 	}
 
 	private static Map<String, Double> createPosition(double x, double y, double z) {
-		return ImmutableMap.of("x", x, "y", y, "z", z);
+		return new PositionMap(x, y, z);
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
@@ -133,7 +182,7 @@ public class EntityMetadataBuilder implements IEntityPartialMetaBuilder {
 		while (it.hasNext()) {
 			final IEntityMetaProvider<?> provider = it.next();
 			if ((provider instanceof IEntityCustomMetaProvider) &&
-					((IEntityCustomMetaProvider<Entity>)provider).canApply(entity))
+					!((IEntityCustomMetaProvider<Entity>)provider).canApply(entity))
 				it.remove();
 		}
 	}
@@ -158,6 +207,27 @@ public class EntityMetadataBuilder implements IEntityPartialMetaBuilder {
 		return map;
 	}
 
+	@Override
+	public List<Map<String, Object>> getEntitiesMetadata(Collection<? extends Entity> entities, Vec3 relativePos, String... keys) {
+		final List<Map<String, Object>> result = Lists.newArrayListWithCapacity(entities.size());
+		final Map<Class<?>, ProviderGroup> groups = Maps.newHashMap();
+
+		for (Entity entity : entities) {
+			final Class<?> cls = entity.getClass();
+			ProviderGroup group = groups.get(cls);
+			if (group == null) {
+				group = new ProviderGroup(cls, keys);
+				groups.put(cls, group);
+			}
+
+			final Map<String, Object> map = createBasicProperties(entity, relativePos);
+			group.fill(map, entity, relativePos);
+			result.add(map);
+		}
+
+		return result;
+	}
+
 	@Override
 	public Object getEntityMetadata(String key, Entity entity, Vec3 relativePos) {
 		Map<String, IEntityMetaProvider<?>> providers = getProviders(entity);
@@ -11,19 +11,23 @@ import java.util.Map;
 import java.util.Set;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import openperipheral.api.adapter.method.IMultiReturn;
 import openperipheral.api.adapter.method.ScriptObject;
+import openperipheral.api.converter.IConverter;
 import openperipheral.api.meta.IItemStackCustomMetaProvider;
 import openperipheral.api.meta.IItemStackMetaProvider;
 import openperipheral.api.meta.IItemStackPartialMetaBuilder;
+import openperipheral.api.meta.IMetaProviderDeltaProxy;
 import openperipheral.api.meta.IMetaProviderProxy;
 
 public class ItemStackMetadataBuilder implements IItemStackPartialMetaBuilder {
 
 	@ScriptObject
-	private static class Proxy implements IMetaProviderProxy {
+	private static class Proxy implements IMetaProviderDeltaProxy {
 		private final Map<String, IItemStackMetaProvider<?>> providers;
 		private final ItemStack stack;
 		private final Item item;
+		private final MetaDeltaTracker deltaTracker = new MetaDeltaTracker();
 
 		private Proxy(Map<String, IItemStackMetaProvider<?>> providers, ItemStack stack, Item item) {
 			this.providers = ImmutableMap.copyOf(providers);
@@ -71,6 +75,11 @@ public class ItemStackMetadataBuilder implements IItemStackPartialMetaBuilder {
 			IItemStackMetaProvider<?> provider = providers.get(key);
 			return provider != null? getProperty(stack, item, provider) : null;
 		}
+
+		@Override
+		public IMultiReturn changes(IConverter converter, Integer since) {
+			return deltaTracker.update(converter, all(), since);
+		}
 	}
 
 	private static final Map<String, Object> NULL;
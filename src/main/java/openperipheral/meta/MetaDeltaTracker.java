@@ -0,0 +1,57 @@
+package openperipheral.meta;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import openperipheral.api.adapter.method.IMultiReturn;
+import openperipheral.api.adapter.method.ScriptObject;
+import openperipheral.api.converter.IConverter;
+import openperipheral.api.helpers.MultiReturn;
+
+/**
+ * Keeps hashes of last returned values (after conversion), so repeated calls can return only changed keys.
+ * Values are converted here only to calculate hashes. Returned values still go through outbound converter, but converting already converted (plain) values doesn't change them.
+ * Script objects are converted to fresh wrappers on every call, so they are tracked by type, not by identity.
+ */
+public class MetaDeltaTracker {
+
+	private Map<String, Integer> hashes = ImmutableMap.of();
+
+	private int version;
+
+	public synchronized IMultiReturn update(IConverter converter, Map<String, Object> values, Integer since) {
+		final boolean isFull = since == null || since != version;
+
+		final Map<String, Integer> newHashes = Maps.newHashMap();
+		final Map<String, Object> changed = Maps.newHashMap();
+
+		for (Map.Entry<String, Object> e : values.entrySet()) {
+			final String key = e.getKey();
+			final Object value = e.getValue();
+			final boolean isScriptObject = value != null && value.getClass().isAnnotationPresent(ScriptObject.class);
+			final Object converted = isScriptObject? value : converter.fromJava(value);
+			final int hash = isScriptObject? value.getClass().getName().hashCode() : hash(converted);
+			newHashes.put(key, hash);
+
+			final Integer prevHash = hashes.get(key);
+			if (isFull || prevHash == null || prevHash != hash) changed.put(key, converted);
+		}
+
+		final List<String> removed = Lists.newArrayList();
+		if (!isFull) {
+			for (String key : hashes.keySet())
+				if (!newHashes.containsKey(key)) removed.add(key);
+		}
+
+		hashes = newHashes;
+		version++;
+		return MultiReturn.wrap(changed, version, removed);
+	}
+
+	private static int hash(Object value) {
+		return Arrays.deepHashCode(new Object[] { value });
+	}
+}
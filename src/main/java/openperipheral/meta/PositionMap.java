@@ -0,0 +1,94 @@
+package openperipheral.meta;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only {@code x,y,z} map that keeps coordinates as primitives. Values are boxed only when accessed.
+ */
+class PositionMap extends AbstractMap<String, Double> {
+
+	private static final String[] KEYS = { "x", "y", "z" };
+
+	private final double x;
+	private final double y;
+	private final double z;
+
+	public PositionMap(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	private double value(int index) {
+		switch (index) {
+			case 0:
+				return x;
+			case 1:
+				return y;
+			default:
+				return z;
+		}
+	}
+
+	private static int index(Object key) {
+		if ("x".equals(key)) return 0;
+		if ("y".equals(key)) return 1;
+		if ("z".equals(key)) return 2;
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return KEYS.length;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return index(key) >= 0;
+	}
+
+	@Override
+	public Double get(Object key) {
+		final int index = index(key);
+		return index >= 0? value(index) : null;
+	}
+
+	@Override
+	public Set<Entry<String, Double>> entrySet() {
+		return new AbstractSet<Entry<String, Double>>() {
+			@Override
+			public Iterator<Entry<String, Double>> iterator() {
+				return new Iterator<Entry<String, Double>>() {
+					private int index;
+
+					@Override
+					public boolean hasNext() {
+						return index < KEYS.length;
+					}
+
+					@Override
+					public Entry<String, Double> next() {
+						if (index >= KEYS.length) throw new NoSuchElementException();
+						final Entry<String, Double> result = new SimpleImmutableEntry<String, Double>(KEYS[index], value(index));
+						index++;
+						return result;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return KEYS.length;
+			}
+		};
+	}
+}
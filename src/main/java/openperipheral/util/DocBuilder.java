@@ -2,6 +2,7 @@ package openperipheral.util;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
 import java.io.File;
@@ -9,11 +10,9 @@ import java.io.InputStream;
 import java.net.URL;
 import java.security.ProtectionDomain;
 import java.util.Collection;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.Map;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import openmods.Log;
@@ -27,135 +26,150 @@ import openperipheral.adapter.types.TypeHelper;
 import openperipheral.adapter.wrappers.AdapterWrapper;
 import openperipheral.api.adapter.AdapterSourceName;
 import openperipheral.api.adapter.IScriptType;
-import openperipheral.api.architecture.IFeatureGroupManager;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
+/**
+ * Writes documentation directly to output. Entries of the same kind should be added one after another, since they are grouped in sections.
+ */
 public class DocBuilder {
-	private final Document doc;
-	private final Element root;
+	private final IDocWriter writer;
+
+	private String currentSection;
 
 	public interface IClassDecorator {
-		public void decorateEntry(Element element, Class<?> cls);
+		public void decorateEntry(IDocWriter writer, Class<?> cls);
 	}
 
 	public static final IClassDecorator NULL_DECORATOR = new IClassDecorator() {
 		@Override
-		public void decorateEntry(Element element, Class<?> cls) {}
+		public void decorateEntry(IDocWriter writer, Class<?> cls) {}
 	};
 
 	public static final IClassDecorator SCRIPT_OBJECT_DECORATOR = new IClassDecorator() {
 		@Override
-		public void decorateEntry(Element element, Class<?> cls) {
+		public void decorateEntry(IDocWriter writer, Class<?> cls) {
 			final AdapterSourceName nameAnnotation = cls.getAnnotation(AdapterSourceName.class);
 			final String name = nameAnnotation != null? nameAnnotation.value() : cls.getSimpleName().toLowerCase();
 
-			Document doc = element.getOwnerDocument();
-			element.appendChild(createProperty(doc, "name", name));
+			writer.property("name", name);
 		}
 	};
 
 	public static final IClassDecorator TILE_ENTITY_DECORATOR = new IClassDecorator() {
 
 		@Override
-		public void decorateEntry(Element element, Class<?> cls) {
+		public void decorateEntry(IDocWriter writer, Class<?> cls) {
 			final String teName = Objects.firstNonNull(NameUtils.getClassToNameMap().get(cls), "null");
-			Document doc = element.getOwnerDocument();
-			element.appendChild(createProperty(doc, "teName", teName));
+			writer.property("teName", teName);
 
 			String docText = DocUtils.DOC_TEXT_CACHE.getOrCreate(cls);
-			if (!Strings.isNullOrEmpty(docText)) element.appendChild(createCDataProperty(doc, "docText", docText));
+			if (!Strings.isNullOrEmpty(docText)) writer.cdataProperty("docText", docText);
 
 			String userName = PeripheralTypeProvider.INSTANCE.getType(cls);
 			if (Strings.isNullOrEmpty(userName)) {
 				userName = "unknown?";
 			}
-			element.appendChild(createProperty(doc, "name", userName));
+			writer.property("name", userName);
 		}
 	};
 
-	public DocBuilder() {
-		try {
-			DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-			doc = docBuilder.newDocument();
-			root = doc.createElement("documentation");
-			doc.appendChild(root);
-		} catch (Exception e) {
-			throw Throwables.propagate(e);
-		}
+	public DocBuilder(IDocWriter writer) {
+		this.writer = writer;
+		writer.beginDocument("documentation");
+	}
+
+	public void close() {
+		if (currentSection != null) writer.endList();
+		writer.endDocument();
 	}
 
-	public void dumpXml(File output, boolean applyXslt) {
+	public static void transformToXhtml(File input, File output) {
 		try {
-			final Transformer transformer = createTransformer(applyXslt);
-			DOMSource source = new DOMSource(doc);
-			StreamResult result = new StreamResult(output);
-			transformer.transform(source, result);
+			TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+			InputStream stylesheet = DocBuilder.class.getResourceAsStream("/op_dump.xsl");
+			final Transformer transformer;
+			try {
+				transformer = transformerFactory.newTransformer(new StreamSource(stylesheet));
+			} finally {
+				stylesheet.close();
+			}
+
+			transformer.transform(new StreamSource(input), new StreamResult(output));
 		} catch (Exception e) {
 			throw Throwables.propagate(e);
 		}
 	}
 
-	private Transformer createTransformer(boolean applyXslt) throws Exception {
-		TransformerFactory transformerFactory = TransformerFactory.newInstance();
-
-		if (!applyXslt) return transformerFactory.newTransformer();
-
-		InputStream stylesheet = getClass().getResourceAsStream("/op_dump.xsl");
-		try {
-			StreamSource stylesource = new StreamSource(stylesheet);
-			return transformerFactory.newTransformer(stylesource);
-		} finally {
-			stylesheet.close();
+	private void startSection(String name) {
+		if (!name.equals(currentSection)) {
+			if (currentSection != null) writer.endList();
+			writer.beginList(name, false);
+			currentSection = name;
 		}
 	}
 
 	public void createDocForClass(String architecture, String type, IClassDecorator decorator, Class<?> cls, IMethodMap methods) {
 		if (methods.isEmpty()) return;
-		Element result = doc.createElement("classMethods");
-		result.setAttribute("type", type);
-		result.setAttribute("architecture", architecture);
-		fillDocForClass(result, cls, methods);
-		decorator.decorateEntry(result, cls);
-		root.appendChild(result);
+		startSection("classes");
+		writer.beginElement("classMethods");
+		writer.attribute("type", type);
+		writer.attribute("architecture", architecture);
+		fillDocForClass(cls, methods);
+		decorator.decorateEntry(writer, cls);
+		writer.endElement();
 	}
 
-	public void createDocForFeatureGroup(String id, Collection<String> architectures, IFeatureGroupManager fgm) {
-		Element result = doc.createElement("featureGroup");
-		result.setAttribute("id", id);
+	public void createDocForFeatureGroup(String id, Collection<String> enabledArchitectures) {
+		startSection("featureGroups");
+		writer.beginElement("featureGroup");
+		writer.attribute("id", id);
 
-		for (String arch : architectures)
-			if (fgm.isEnabled(id, arch)) result.appendChild(createProperty("architecture", arch));
+		writer.beginList("architectures", false);
+		for (String arch : enabledArchitectures)
+			writer.property("architecture", arch);
+		writer.endList();
 
-		root.appendChild(result);
+		writer.endElement();
 	}
 
 	public void createDocForAdapter(String type, String location, Class<?> targetClass, AdapterWrapper adapter) {
-		Element result = doc.createElement("adapter");
+		startSection("adapters");
+		writer.beginElement("adapter");
 		final Class<?> adapterClass = adapter.getAdapterClass();
-		result.setAttribute("class", adapterClass.getName());
-		result.setAttribute("source", getSourceFile(adapterClass));
-		result.setAttribute("type", type);
-		result.setAttribute("location", location);
+		writer.attribute("class", adapterClass.getName());
+		writer.attribute("sourceFile", getSourceFile(adapterClass));
+		writer.attribute("type", type);
+		writer.attribute("location", location);
 
-		result.appendChild(createProperty("target", adapter.getTargetClass().getName()));
-		result.appendChild(createProperty("source", adapter.source()));
+		writer.property("target", adapter.getTargetClass().getName());
+		writer.property("source", adapter.source());
 
-		fillMethods(result, adapter.getMethods());
-		root.appendChild(result);
+		fillMethods(adapter.getMethods());
+		writer.endElement();
 	}
 
 	public void createDocForArchitecture(String id, boolean isEnabled) {
-		Element result = doc.createElement("architecture");
-		result.appendChild(createProperty("id", id));
-		result.setAttribute("enabled", Boolean.toString(isEnabled));
+		startSection("architectures");
+		writer.beginElement("architecture");
+		writer.attribute("enabled", isEnabled);
+		writer.property("id", id);
+		writer.endElement();
+	}
 
-		root.appendChild(result);
+	public void createDocForStats(String id, Map<String, ?> stats) {
+		startSection("stats");
+		writer.beginElement("stats");
+		writer.attribute("id", id);
+
+		for (Map.Entry<String, ?> e : stats.entrySet())
+			writer.keyedProperty("stat", e.getKey(), String.valueOf(e.getValue()));
+
+		writer.endElement();
 	}
 
 	public void setRootAttribute(String name, String value) {
-		root.setAttribute(name, value);
+		Preconditions.checkState(currentSection == null, "Root attributes must be set before any content");
+		writer.attribute(name, value);
 	}
 
 	private static String getSourceFile(Class<?> adapterClass) {
@@ -170,100 +184,93 @@ public class DocBuilder {
 		return "unknown";
 	}
 
-	protected void fillMethods(Element result, Collection<? extends IMethodExecutor> methods) {
+	protected void fillMethods(Collection<? extends IMethodExecutor> methods) {
+		writer.beginList("methods", false);
 		for (IMethodExecutor method : methods) {
-			Element methodDoc = doc.createElement("method");
+			writer.beginElement("method");
+			fillMethodAttributes(method);
 
 			final IMethodDescription description = method.description();
 
-			Element names = doc.createElement("names");
+			writer.beginList("names", true);
 			for (String name : description.getNames())
-				names.appendChild(createProperty("name", name));
-			methodDoc.appendChild(names);
+				writer.property("name", name);
+			writer.endList();
 
-			fillDocForMethod(methodDoc, method);
-			result.appendChild(methodDoc);
+			fillDocForMethod(method);
+			writer.endElement();
 		}
+		writer.endList();
 	}
 
-	private void fillDocForClass(final Element result, Class<?> cls, IMethodMap list) {
-		result.setAttribute("class", cls.getName());
-		result.appendChild(createProperty("simpleName", cls.getSimpleName()));
+	private void fillDocForClass(Class<?> cls, IMethodMap list) {
+		writer.attribute("class", cls.getName());
+		writer.property("simpleName", cls.getSimpleName());
 
+		writer.beginList("methods", false);
 		list.visitMethods(new IMethodVisitor() {
 			@Override
 			public void visit(String name, IMethodExecutor executor) {
-				Element methodDoc = doc.createElement("method");
-
-				methodDoc.setAttribute("name", name);
-				fillDocForMethod(methodDoc, executor);
-				result.appendChild(methodDoc);
+				writer.beginElement("method");
+				writer.attribute("name", name);
+				fillMethodAttributes(executor);
+				fillDocForMethod(executor);
+				writer.endElement();
 			}
 		});
+		writer.endList();
 	}
 
-	private void fillDocForMethod(Element result, IMethodExecutor method) {
-		result.setAttribute("asynchronous", Boolean.toString(method.isAsynchronous()));
+	private void fillMethodAttributes(IMethodExecutor method) {
+		writer.attribute("asynchronous", method.isAsynchronous());
 		final Optional<String> returnSignal = method.getReturnSignal();
-		if (returnSignal.isPresent()) result.setAttribute("returnSignal", returnSignal.get());
+		if (returnSignal.isPresent()) writer.attribute("returnSignal", returnSignal.get());
+	}
+
+	private void fillDocForMethod(IMethodExecutor method) {
 		IMethodDescription description = method.description();
-		result.appendChild(createProperty("signature", DocUtils.signature(description)));
-		result.appendChild(createProperty("source", description.source()));
+		writer.property("signature", DocUtils.signature(description));
+		writer.property("source", description.source());
 
-		addOptionalTag(result, "description", description.description());
+		addOptionalTag("description", description.description());
 
 		{
+			writer.beginList("featureGroups", false);
 			for (String fg : method.featureGroups())
-				result.appendChild(createProperty("featureGroup", fg));
+				writer.property("featureGroup", fg);
+			writer.endList();
 		}
 
 		{
-			Element args = doc.createElement("arguments");
+			writer.beginList("arguments", true);
 			for (IArgumentDescription arg : description.arguments())
-				args.appendChild(fillDocForArg(arg));
-			result.appendChild(args);
+				fillDocForArg(arg);
+			writer.endList();
 		}
 
 		{
 			final IScriptType returnType = description.returnTypes();
 			if (!TypeHelper.isVoid(returnType)) {
 				final String returnTypes = returnType.describe();
-				result.appendChild(createProperty("returns", returnTypes));
+				writer.property("returns", returnTypes);
 			}
 		}
 	}
 
-	private Element fillDocForArg(IArgumentDescription arg) {
-		Element result = doc.createElement("arg");
-		result.appendChild(createProperty("name", arg.name()));
-		result.appendChild(createProperty("type", arg.type().describe()));
-
-		addOptionalTag(result, "description", arg.description());
-
-		result.setAttribute("nullable", Boolean.toString(arg.nullable()));
-		result.setAttribute("optional", Boolean.toString(arg.optional()));
-		result.setAttribute("variadic", Boolean.toString(arg.variadic()));
-
-		return result;
-	}
-
-	private void addOptionalTag(Element parent, final String tag, final String value) {
-		if (!value.isEmpty()) parent.appendChild(createProperty(tag, value));
-	}
+	private void fillDocForArg(IArgumentDescription arg) {
+		writer.beginElement("arg");
+		writer.attribute("nullable", arg.nullable());
+		writer.attribute("optional", arg.optional());
+		writer.attribute("variadic", arg.variadic());
 
-	private Element createProperty(String tag, String value) {
-		return createProperty(doc, tag, value);
-	}
+		writer.property("name", arg.name());
+		writer.property("type", arg.type().describe());
 
-	private static Element createProperty(Document doc, String tag, String value) {
-		Element el = doc.createElement(tag);
-		el.appendChild(doc.createTextNode(value));
-		return el;
+		addOptionalTag("description", arg.description());
+		writer.endElement();
 	}
 
-	private static Element createCDataProperty(Document doc, String tag, String value) {
-		Element el = doc.createElement(tag);
-		el.appendChild(doc.createCDATASection(value));
-		return el;
+	private void addOptionalTag(final String tag, final String value) {
+		if (!value.isEmpty()) writer.property(tag, value);
 	}
 }
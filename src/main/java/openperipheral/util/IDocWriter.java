@@ -0,0 +1,34 @@
+package openperipheral.util;
+
+/**
+ * Streaming output for documentation. Attributes must be written directly after start of element or document.
+ */
+public interface IDocWriter {
+	public void beginDocument(String rootTag);
+
+	public void endDocument();
+
+	public void beginElement(String tag);
+
+	public void endElement();
+
+	/**
+	 * Starts list of elements or properties. If {@code wrapped} is false, XML output will contain list elements directly in parent element.
+	 */
+	public void beginList(String name, boolean wrapped);
+
+	public void endList();
+
+	public void attribute(String name, String value);
+
+	public void attribute(String name, boolean value);
+
+	public void property(String tag, String value);
+
+	public void cdataProperty(String tag, String value);
+
+	/**
+	 * Property with value identified by key ({@code <tag name="key">value</tag>} in XML)
+	 */
+	public void keyedProperty(String tag, String key, String value);
+}
@@ -0,0 +1,123 @@
+package openperipheral.util;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Deque;
+
+public class JsonDocWriter implements IDocWriter {
+
+	private final JsonWriter writer;
+
+	// true if current container is list
+	private final Deque<Boolean> scopes = Lists.newLinkedList();
+
+	public JsonDocWriter(Writer output) {
+		this.writer = new JsonWriter(output);
+		this.writer.setIndent("  ");
+	}
+
+	private JsonWriter name(String name) throws IOException {
+		return scopes.peek()? writer : writer.name(name);
+	}
+
+	@Override
+	public void beginDocument(String rootTag) {
+		try {
+			writer.beginObject();
+			scopes.push(false);
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void endDocument() {
+		try {
+			writer.endObject();
+			scopes.pop();
+			writer.close();
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void beginElement(String tag) {
+		try {
+			name(tag).beginObject();
+			scopes.push(false);
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void endElement() {
+		try {
+			writer.endObject();
+			scopes.pop();
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void beginList(String name, boolean wrapped) {
+		try {
+			name(name).beginArray();
+			scopes.push(true);
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void endList() {
+		try {
+			writer.endArray();
+			scopes.pop();
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void attribute(String name, String value) {
+		property(name, value);
+	}
+
+	@Override
+	public void attribute(String name, boolean value) {
+		try {
+			name(name).value(value);
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void property(String tag, String value) {
+		try {
+			name(tag).value(value);
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void cdataProperty(String tag, String value) {
+		property(tag, value);
+	}
+
+	@Override
+	public void keyedProperty(String tag, String key, String value) {
+		try {
+			writer.name(key).value(value);
+		} catch (IOException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+}
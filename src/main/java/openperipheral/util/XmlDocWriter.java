@@ -0,0 +1,124 @@
+package openperipheral.util;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import java.io.OutputStream;
+import java.util.Deque;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+public class XmlDocWriter implements IDocWriter {
+
+	private static final String ENCODING = "UTF-8";
+
+	private final XMLStreamWriter writer;
+
+	private final Deque<Boolean> lists = Lists.newLinkedList();
+
+	public XmlDocWriter(OutputStream output) {
+		try {
+			this.writer = XMLOutputFactory.newInstance().createXMLStreamWriter(output, ENCODING);
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void beginDocument(String rootTag) {
+		try {
+			writer.writeStartDocument(ENCODING, "1.0");
+			writer.writeStartElement(rootTag);
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void endDocument() {
+		try {
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.close();
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void beginElement(String tag) {
+		try {
+			writer.writeStartElement(tag);
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void endElement() {
+		try {
+			writer.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void beginList(String name, boolean wrapped) {
+		lists.push(wrapped);
+		if (wrapped) beginElement(name);
+	}
+
+	@Override
+	public void endList() {
+		if (lists.pop()) endElement();
+	}
+
+	@Override
+	public void attribute(String name, String value) {
+		try {
+			writer.writeAttribute(name, value);
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void attribute(String name, boolean value) {
+		attribute(name, Boolean.toString(value));
+	}
+
+	@Override
+	public void property(String tag, String value) {
+		try {
+			writer.writeStartElement(tag);
+			writer.writeCharacters(value);
+			writer.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void cdataProperty(String tag, String value) {
+		try {
+			writer.writeStartElement(tag);
+			writer.writeCData(value);
+			writer.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+
+	@Override
+	public void keyedProperty(String tag, String key, String value) {
+		try {
+			writer.writeStartElement(tag);
+			writer.writeAttribute("name", key);
+			writer.writeCharacters(value);
+			writer.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw Throwables.propagate(e);
+		}
+	}
+}
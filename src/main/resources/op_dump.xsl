@@ -93,7 +93,7 @@ body {
     <p>An Adapter</p>
     <p>Target class: <code><xsl:value-of select="target/text()" /></code></p>
     <p>Source class: <code><xsl:value-of select="@class" /></code></p>
-    <p>Defined in: <code><xsl:value-of select="@source" /></code></p>
+    <p>Defined in: <code><xsl:value-of select="@sourceFile" /></code></p>
     <p>Location: <xsl:value-of select="@location" /></p>
     <xsl:for-each select="method">
       <xsl:sort select="@name"/>
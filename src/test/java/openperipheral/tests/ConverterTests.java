@@ -22,6 +22,7 @@ import openperipheral.api.converter.IConverter;
 import openperipheral.converter.inbound.ConverterArrayInbound;
 import openperipheral.converter.inbound.ConverterListInbound;
 import openperipheral.converter.inbound.ConverterMapInbound;
+import openperipheral.converter.inbound.ConverterNumberInbound;
 import openperipheral.converter.inbound.ConverterSetInbound;
 import org.junit.Assert;
 import org.junit.Test;
@@ -469,4 +470,23 @@ public class ConverterTests {
 		verify(converter).toJava("b", component);
 	}
 
+	@Test
+	public void NumberCapabilityTest() {
+		IConverter converter = mock(IConverter.class);
+
+		ConverterNumberInbound sut = new ConverterNumberInbound(1);
+
+		Assert.assertFalse(sut.canConvert(String.class, String.class));
+		Assert.assertFalse(sut.canConvert(Boolean.class, int.class));
+		Assert.assertTrue(sut.canConvert(String.class, int.class));
+		Assert.assertTrue(sut.canConvert(Integer.class, double.class));
+
+		Assert.assertNull(sut.toJava(converter, "hello", (Type)String.class));
+		Assert.assertEquals(5, sut.toJava(converter, "5", (Type)int.class));
+		Assert.assertEquals(5, sut.toJava(converter, 5.0, (Type)Integer.class));
+		Assert.assertEquals(3.0, sut.toJava(converter, 3, (Type)double.class));
+
+		verifyNoMoreInteractions(converter);
+	}
+
 }
@@ -0,0 +1,107 @@
+package openperipheral.tests;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+import openperipheral.adapter.wrappers.TechnicalAdapterWrapper;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.util.DocBuilder;
+import openperipheral.util.IDocWriter;
+import openperipheral.util.JsonDocWriter;
+import openperipheral.util.XmlDocWriter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class DocWriterTest {
+
+	public static class DocAdapter {
+		@ScriptCallable(returnTypes = ReturnType.NUMBER, description = "Adds numbers")
+		public int add(@Arg(name = "a") int a, @Arg(name = "b") int b) {
+			return a + b;
+		}
+	}
+
+	public static class DocTarget {}
+
+	private static void writeDoc(IDocWriter writer) {
+		final DocBuilder builder = new DocBuilder(writer);
+		builder.setRootAttribute("generatedBy", "test");
+		builder.createDocForArchitecture("computercraft", true);
+		builder.createDocForFeatureGroup("group", ImmutableList.of("computercraft", "opencomputers"));
+		builder.createDocForAdapter("peripheral", "external", DocTarget.class, new TechnicalAdapterWrapper(new DocAdapter(), DocTarget.class, "test_source"));
+		builder.createDocForStats("test", ImmutableMap.of("a", 1, "b", "2"));
+		builder.close();
+	}
+
+	// JsonParser silently keeps last value for duplicated key, so document is walked manually
+	private static void checkNoDuplicateKeys(JsonReader reader) throws IOException {
+		final JsonToken token = reader.peek();
+		if (token == JsonToken.BEGIN_OBJECT) {
+			final Set<String> keys = Sets.newHashSet();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				final String key = reader.nextName();
+				Assert.assertTrue("Duplicate key: " + key, keys.add(key));
+				checkNoDuplicateKeys(reader);
+			}
+			reader.endObject();
+		} else if (token == JsonToken.BEGIN_ARRAY) {
+			reader.beginArray();
+			while (reader.hasNext())
+				checkNoDuplicateKeys(reader);
+			reader.endArray();
+		} else {
+			reader.skipValue();
+		}
+	}
+
+	@Test
+	public void testJsonDump() throws IOException {
+		final StringWriter output = new StringWriter();
+		writeDoc(new JsonDocWriter(output));
+
+		final String json = output.toString();
+		final JsonReader reader = new JsonReader(new StringReader(json));
+		checkNoDuplicateKeys(reader);
+		Assert.assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+
+		Assert.assertTrue(json.contains("\"sourceFile\""));
+		Assert.assertTrue(json.contains("\"source\": \"test_source\""));
+		Assert.assertTrue(json.contains("\"generatedBy\": \"test\""));
+	}
+
+	@Test
+	public void testXmlDump() throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		writeDoc(new XmlDocWriter(output));
+
+		final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(output.toByteArray()));
+		final Element root = document.getDocumentElement();
+		Assert.assertEquals("documentation", root.getTagName());
+		Assert.assertEquals("test", root.getAttribute("generatedBy"));
+
+		final Element adapter = (Element)root.getElementsByTagName("adapter").item(0);
+		Assert.assertEquals(DocAdapter.class.getName(), adapter.getAttribute("class"));
+		Assert.assertTrue(adapter.hasAttribute("sourceFile"));
+		Assert.assertEquals("test_source", adapter.getElementsByTagName("source").item(0).getTextContent());
+		Assert.assertEquals(1, adapter.getElementsByTagName("method").getLength());
+
+		Assert.assertEquals(1, root.getElementsByTagName("featureGroup").getLength());
+		Assert.assertEquals(2, root.getElementsByTagName("stat").getLength());
+		Assert.assertTrue(new String(output.toByteArray(), Charsets.UTF_8).startsWith("<?xml"));
+	}
+}
@@ -0,0 +1,157 @@
+package openperipheral.tests;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.Vec3;
+import net.minecraft.world.World;
+import openperipheral.api.meta.IEntityCustomMetaProvider;
+import openperipheral.api.meta.IEntityMetaProvider;
+import openperipheral.meta.EntityMetadataBuilder;
+import openperipheral.meta.MetaProvidersRegistry;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class EntityMetadataTest {
+
+	public abstract static class TestEntity extends Entity {
+		public TestEntity(World world) {
+			super(world);
+		}
+
+		public boolean special;
+	}
+
+	private static class CountingProvider implements IEntityMetaProvider<TestEntity> {
+		private final String key;
+
+		public CountingProvider(String key) {
+			this.key = key;
+		}
+
+		@Override
+		public Class<? extends TestEntity> getTargetClass() {
+			return TestEntity.class;
+		}
+
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		@Override
+		public Object getMeta(TestEntity target, Vec3 relativePos) {
+			return key + ":" + target.getEntityId();
+		}
+	}
+
+	private static class SpecialProvider extends CountingProvider implements IEntityCustomMetaProvider<TestEntity> {
+		public SpecialProvider() {
+			super("special");
+		}
+
+		@Override
+		public boolean canApply(TestEntity target) {
+			return target.special;
+		}
+	}
+
+	@BeforeClass
+	public static void registerProviders() {
+		MetaProvidersRegistry.ENITITES.addProvider(new CountingProvider("a"));
+		MetaProvidersRegistry.ENITITES.addProvider(new CountingProvider("b"));
+		MetaProvidersRegistry.ENITITES.addProvider(new SpecialProvider());
+	}
+
+	private static TestEntity createEntity(int id, boolean special, double x, double y, double z) {
+		TestEntity entity = mock(TestEntity.class);
+		when(entity.getEntityId()).thenReturn(id);
+		when(entity.getCommandSenderName()).thenReturn("entity" + id);
+		when(entity.getUniqueID()).thenReturn(new UUID(0, id));
+		entity.special = special;
+		entity.posX = x;
+		entity.posY = y;
+		entity.posZ = z;
+		return entity;
+	}
+
+	@Test
+	public void testBatchMetadata() {
+		final TestEntity normal = createEntity(1, false, 1, 2, 3);
+		final TestEntity special = createEntity(2, true, 4, 5, 6);
+
+		List<Map<String, Object>> result = new EntityMetadataBuilder().getEntitiesMetadata(ImmutableList.of(normal, special), null);
+		Assert.assertEquals(2, result.size());
+
+		final Map<String, Object> normalMeta = result.get(0);
+		Assert.assertEquals(1, normalMeta.get("id"));
+		Assert.assertEquals("a:1", normalMeta.get("a"));
+		Assert.assertEquals("b:1", normalMeta.get("b"));
+		Assert.assertFalse(normalMeta.containsKey("special"));
+		Assert.assertEquals(ImmutableMap.of("x", 1.0, "y", 2.0, "z", 3.0), normalMeta.get("position"));
+
+		final Map<String, Object> specialMeta = result.get(1);
+		Assert.assertEquals(2, specialMeta.get("id"));
+		Assert.assertEquals("special:2", specialMeta.get("special"));
+	}
+
+	@Test
+	public void testBatchMetadataSelectedKeys() {
+		final TestEntity entity = createEntity(3, true, 0, 0, 0);
+
+		List<Map<String, Object>> result = new EntityMetadataBuilder().getEntitiesMetadata(ImmutableList.of(entity), null, "b", "special", "missing");
+		final Map<String, Object> meta = result.get(0);
+
+		Assert.assertFalse(meta.containsKey("a"));
+		Assert.assertEquals("b:3", meta.get("b"));
+		Assert.assertEquals("special:3", meta.get("special"));
+		Assert.assertFalse(meta.containsKey("missing"));
+		Assert.assertEquals("entity3", meta.get("name"));
+	}
+
+	@Test
+	public void testSingleMetadataMatchesBatch() {
+		final TestEntity normal = createEntity(4, false, 0, 0, 0);
+		final TestEntity special = createEntity(5, true, 0, 0, 0);
+		final EntityMetadataBuilder builder = new EntityMetadataBuilder();
+
+		Assert.assertFalse(builder.getEntityMetadata(normal, null).containsKey("special"));
+		Assert.assertEquals("special:5", builder.getEntityMetadata(special, null).get("special"));
+		Assert.assertEquals(builder.getEntityMetadata(special, null), builder.getEntitiesMetadata(ImmutableList.of(special), null).get(0));
+	}
+
+	@Test
+	public void testRelativePosition() {
+		final TestEntity entity = createEntity(6, false, 10, 20, 30);
+
+		List<Map<String, Object>> result = new EntityMetadataBuilder().getEntitiesMetadata(ImmutableList.of(entity), Vec3.createVectorHelper(1, 2, 3));
+
+		@SuppressWarnings("unchecked")
+		final Map<String, Double> position = (Map<String, Double>)result.get(0).get("position");
+		Assert.assertEquals(ImmutableMap.of("x", 9.0, "y", 18.0, "z", 27.0), position);
+		Assert.assertEquals(3, position.size());
+		Assert.assertEquals(Double.valueOf(18.0), position.get("y"));
+		Assert.assertNull(position.get("w"));
+		Assert.assertTrue(position.containsKey("z"));
+		Assert.assertFalse(position.containsKey("w"));
+		Assert.assertEquals(ImmutableMap.of("x", 9.0, "y", 18.0, "z", 27.0).hashCode(), position.hashCode());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testPositionIsReadOnly() {
+		final TestEntity entity = createEntity(7, false, 0, 0, 0);
+
+		List<Map<String, Object>> result = new EntityMetadataBuilder().getEntitiesMetadata(ImmutableList.of(entity), null);
+
+		@SuppressWarnings("unchecked")
+		final Map<String, Double> position = (Map<String, Double>)result.get(0).get("position");
+		position.put("x", 1.0);
+	}
+}
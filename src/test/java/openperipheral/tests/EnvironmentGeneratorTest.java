@@ -13,6 +13,7 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -43,8 +44,11 @@ import openperipheral.api.converter.IConverter;
 import openperipheral.converter.TypeConvertersProvider;
 import openperipheral.interfaces.oc.ModuleOpenComputers;
 import openperipheral.interfaces.oc.OpenComputersEnv;
+import openperipheral.interfaces.oc.asm.CommonMethodsBuilder;
+import openperipheral.interfaces.oc.asm.EnvironmentFactoryGenerator;
 import openperipheral.interfaces.oc.asm.ICallerBase;
 import openperipheral.interfaces.oc.asm.ICodeGenerator;
+import openperipheral.interfaces.oc.asm.IEnvironmentFactory;
 import openperipheral.interfaces.oc.asm.ISignallingCallerBase;
 import openperipheral.interfaces.oc.asm.MethodsStore;
 import openperipheral.interfaces.oc.asm.object.ObjectCodeGenerator;
@@ -110,6 +114,8 @@ public class EnvironmentGeneratorTest {
 
 	private abstract static class CommonAwareTargetClass implements IAttachable {}
 
+	public abstract static class PublicTargetClass {}
+
 	private static Method getMethod(Class<?> cls, String prefix) {
 		for (Method m : cls.getMethods())
 			if (m.getName().startsWith(prefix)) return m;
@@ -355,6 +361,32 @@ public class EnvironmentGeneratorTest {
 		});
 	}
 
+	@Test
+	public void testEnvironmentFactory() throws Exception {
+		setupEnvMocks();
+
+		Map<String, Pair<IMethodExecutor, IMethodCall>> mocks = Maps.newHashMap();
+		addDefaultMethods(mocks);
+
+		Map<String, IMethodExecutor> methods = extractExecutors(mocks);
+
+		Class<?> cls = generateClass("TestClass\u265A", PublicTargetClass.class, methods, new ObjectCodeGenerator());
+
+		byte[] factoryBytes = new EnvironmentFactoryGenerator().generate("TestClass\u265A$Factory", cls.getName(), PublicTargetClass.class);
+		Class<?> factoryCls = defineClass("TestClass\u265A$Factory", factoryBytes);
+		IEnvironmentFactory factory = (IEnvironmentFactory)factoryCls.newInstance();
+
+		final PublicTargetClass target = mock(PublicTargetClass.class);
+		Object o = factory.create(target);
+
+		Assert.assertEquals(cls, o.getClass());
+		Assert.assertTrue(o instanceof Value);
+
+		Field targetField = cls.getDeclaredField(CommonMethodsBuilder.TARGET_FIELD_NAME);
+		targetField.setAccessible(true);
+		Assert.assertSame(target, targetField.get(o));
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void testObjectNullConstructor() throws Throwable {
 		setupEnvMocks();
@@ -4,6 +4,7 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -166,6 +167,24 @@ public class FieldManipulatorsTest {
 		testSetFieldFail(IndexedManipulatorProvider.ARRAY_EXPANDING_MANIPULATOR, target, -1, "nope");
 	}
 
+	@Test
+	public void testPrimitiveArrayManipulators() {
+		final IIndexedFieldManipulator doubleManipulator = IndexedManipulatorProvider.getProvider(double[].class, false, false);
+		double[] doubles = new double[] { 1.5, 2.5 };
+		Assert.assertEquals(2.5, testGetIndexedField(doubleManipulator, doubles, 2));
+		Assert.assertEquals(null, testGetIndexedField(doubleManipulator, doubles, 3));
+		doubles = testSetField(doubleManipulator, doubles, index(1), 4.0);
+		Assert.assertArrayEquals(new double[] { 4.0, 2.5 }, doubles, 0);
+		testSetFieldFail(doubleManipulator, doubles, index(3), 1.0);
+		testSetFieldFail(doubleManipulator, doubles, index(1), null);
+
+		final IIndexedFieldManipulator booleanManipulator = IndexedManipulatorProvider.getProvider(boolean[].class, false, true);
+		boolean[] booleans = new boolean[] { true };
+		booleans = testSetField(booleanManipulator, booleans, index(3), true);
+		Assert.assertTrue(Arrays.equals(new boolean[] { true, false, true }, booleans));
+		Assert.assertEquals(false, testGetIndexedField(booleanManipulator, booleans, 2));
+	}
+
 	@Test
 	public void testListManipulatorGet() {
 		List<Integer> target = Collections.unmodifiableList(Lists.newArrayList(1, 3, 5, null, 9));
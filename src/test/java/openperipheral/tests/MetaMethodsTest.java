@@ -0,0 +1,352 @@
+package openperipheral.tests;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Type;
+import java.util.Map;
+import openperipheral.Config;
+import openperipheral.adapter.AdapterRegistry;
+import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.composed.CallChainHelper;
+import openperipheral.adapter.composed.ClassMethodsComposer;
+import openperipheral.adapter.composed.ComposedMethodsFactory;
+import openperipheral.adapter.composed.NamedMethodMap;
+import openperipheral.adapter.composed.PropertiesSnapshotHelper;
+import openperipheral.adapter.composed.PropertySubscriptionHelper;
+import openperipheral.adapter.property.PropertyChangeWatcher;
+import openperipheral.api.adapter.Property;
+import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.adapter.method.ScriptObject;
+import openperipheral.api.architecture.IArchitectureAccess;
+import openperipheral.api.converter.IConverter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class MetaMethodsTest {
+
+	public static class PropertiesTarget {
+		@Property
+		public int count = 3;
+
+		@Property
+		public String name = "test";
+
+		@Property(readOnly = true)
+		public boolean flag = true;
+	}
+
+	public static class OverridingTarget extends PropertiesTarget {
+		@ScriptCallable(returnTypes = ReturnType.STRING)
+		public String getProperties() {
+			return "own";
+		}
+
+		@ScriptCallable(returnTypes = ReturnType.STRING)
+		public String callChain() {
+			return "own";
+		}
+	}
+
+	@ScriptObject
+	public static class ChainObject {
+		private final int base;
+
+		public ChainObject(int base) {
+			this.base = base;
+		}
+
+		@ScriptCallable(returnTypes = ReturnType.NUMBER)
+		public int add(@Arg(name = "value") int value) {
+			return base + value;
+		}
+
+		@ScriptCallable(returnTypes = ReturnType.OBJECT)
+		public ChainObject next() {
+			return new ChainObject(base * 10);
+		}
+	}
+
+	public static class ChainTarget {
+		@ScriptCallable(returnTypes = ReturnType.OBJECT)
+		public ChainObject getChild(@Arg(name = "base") int base) {
+			return new ChainObject(base);
+		}
+
+		@ScriptCallable(returnTypes = ReturnType.OBJECT)
+		public ChainObject getOther() {
+			return new ChainObject(0);
+		}
+
+		@ScriptCallable(returnTypes = ReturnType.OBJECT)
+		public Object getNothing() {
+			return null;
+		}
+
+		@ScriptCallable(returnTypes = ReturnType.NUMBER)
+		public int getNumber() {
+			return 1;
+		}
+	}
+
+	private static final String CHAIN_ARCHITECTURE = "test";
+
+	@BeforeClass
+	public static void registerChainObjects() {
+		CallChainHelper.registerObjectMethods(CHAIN_ARCHITECTURE, new ComposedMethodsFactory<NamedMethodMap>(new AdapterRegistry(), Predicates.<IMethodExecutor> alwaysTrue()) {
+			@Override
+			protected NamedMethodMap wrapMethods(Class<?> targetCls, Map<String, IMethodExecutor> methods) {
+				return new NamedMethodMap(methods);
+			}
+		});
+	}
+
+	private static Map<String, IMethodExecutor> compose(Class<?> cls) {
+		return new ClassMethodsComposer(Predicates.<IMethodExecutor> alwaysTrue()).createMethodsList(cls, new AdapterRegistry());
+	}
+
+	@Test
+	public void testPropertiesSnapshot() {
+		final Map<String, IMethodExecutor> methods = compose(PropertiesTarget.class);
+
+		final IMethodExecutor executor = methods.get("getProperties");
+		Assert.assertNotNull(executor);
+		Assert.assertEquals("<meta>", executor.description().source());
+		Assert.assertFalse(executor.isAsynchronous());
+
+		final PropertiesTarget target = new PropertiesTarget();
+		final PropertiesSnapshotHelper helper = new PropertiesSnapshotHelper(PropertiesSnapshotHelper.collectProperties(methods));
+		Assert.assertEquals(ImmutableMap.of("count", 3, "name", "test", "flag", true), helper.getProperties(target));
+
+		target.count = 5;
+		Assert.assertEquals(ImmutableMap.of("count", 5, "flag", true), helper.getProperties(target, "count", "flag"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPropertiesSnapshotUnknownName() {
+		final Map<String, IMethodExecutor> methods = compose(PropertiesTarget.class);
+		new PropertiesSnapshotHelper(PropertiesSnapshotHelper.collectProperties(methods)).getProperties(new PropertiesTarget(), "missing");
+	}
+
+	@Test
+	public void testMetaMethodsDoNotHideAdapterMethods() {
+		final Map<String, IMethodExecutor> methods = compose(OverridingTarget.class);
+
+		Assert.assertNotEquals("<meta>", methods.get("getProperties").description().source());
+		Assert.assertNotEquals("<meta>", methods.get("callChain").description().source());
+		Assert.assertEquals("<meta>", methods.get("subscribeProperties").description().source());
+	}
+
+	private static IConverter createIdentityConverter() {
+		final IConverter converter = mock(IConverter.class);
+		final Answer<Object> identity = new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0];
+			}
+		};
+		when(converter.fromJava(any())).thenAnswer(identity);
+		when(converter.toJava(any(), any(Type.class))).thenAnswer(identity);
+		return converter;
+	}
+
+	private static IArchitectureAccess createAccess(boolean canSignal) {
+		final IConverter converter = createIdentityConverter();
+
+		final IArchitectureAccess access = mock(IArchitectureAccess.class);
+		when(access.architecture()).thenReturn(CHAIN_ARCHITECTURE);
+		when(access.callerName()).thenReturn("computer");
+		when(access.peripheralName()).thenReturn("peripheral");
+		when(access.canSignal()).thenReturn(canSignal);
+		when(access.getConverter()).thenReturn(converter);
+		return access;
+	}
+
+	@Test
+	public void testPropertySubscription() {
+		final PropertySubscriptionHelper helper = new PropertySubscriptionHelper(PropertiesSnapshotHelper.collectProperties(compose(PropertiesTarget.class)));
+		final PropertiesTarget target = new PropertiesTarget();
+		final IArchitectureAccess access = createAccess(true);
+
+		helper.subscribeProperties(target, access, "count");
+		// second subscription for same property is ignored
+		helper.subscribeProperties(target, access, "count");
+
+		// first check only records value
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		verify(access, never()).signal(any(String.class), anyVararg());
+
+		target.count = 4;
+		target.name = "unwatched";
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		verify(access, times(1)).signal(PropertyChangeWatcher.SIGNAL_NAME, "peripheral", "count", 4);
+
+		// no change - no signal
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		verify(access, times(1)).signal(any(String.class), anyVararg());
+
+		helper.unsubscribeProperties(target, access);
+		Assert.assertFalse(PropertyChangeWatcher.INSTANCE.unsubscribe(access, target, "count"));
+
+		target.count = 5;
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		verify(access, times(1)).signal(any(String.class), anyVararg());
+	}
+
+	@Test
+	public void testPropertySubscriptionDroppedWhenCantSignal() {
+		final PropertySubscriptionHelper helper = new PropertySubscriptionHelper(PropertiesSnapshotHelper.collectProperties(compose(PropertiesTarget.class)));
+		final PropertiesTarget target = new PropertiesTarget();
+		final IArchitectureAccess access = createAccess(false);
+
+		helper.subscribeProperties(target, access);
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+
+		Assert.assertFalse(PropertyChangeWatcher.INSTANCE.unsubscribe(access, target, "count"));
+		verify(access, never()).signal(any(String.class), anyVararg());
+	}
+
+	public static class ScriptObjectTarget {
+		@Property(readOnly = true)
+		public ChainObject child = new ChainObject(1);
+	}
+
+	@Test
+	public void testPropertySubscriptionOfScriptObject() {
+		final PropertySubscriptionHelper helper = new PropertySubscriptionHelper(PropertiesSnapshotHelper.collectProperties(compose(ScriptObjectTarget.class)));
+		final ScriptObjectTarget target = new ScriptObjectTarget();
+		final IArchitectureAccess access = createAccess(true);
+
+		// every conversion creates new wrapper
+		final IConverter converter = mock(IConverter.class);
+		when(converter.fromJava(any())).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0] != null? new Object() : null;
+			}
+		});
+		when(access.getConverter()).thenReturn(converter);
+
+		helper.subscribeProperties(target, access);
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		target.child = new ChainObject(2);
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		verify(access, never()).signal(any(String.class), anyVararg());
+
+		target.child = null;
+		PropertyChangeWatcher.INSTANCE.checkSubscriptions();
+		verify(access, times(1)).signal(PropertyChangeWatcher.SIGNAL_NAME, "peripheral", "child", null);
+
+		helper.unsubscribeProperties(target, access);
+	}
+
+	@Test
+	public void testPropertySubscriptionLimit() {
+		final int prevLimit = Config.maxPropertySubscriptions;
+		final PropertySubscriptionHelper helper = new PropertySubscriptionHelper(PropertiesSnapshotHelper.collectProperties(compose(PropertiesTarget.class)));
+		final PropertiesTarget target = new PropertiesTarget();
+		final IArchitectureAccess access = createAccess(true);
+		when(access.callerName()).thenReturn("limited_computer");
+
+		try {
+			Config.maxPropertySubscriptions = 2;
+
+			// all or nothing
+			try {
+				helper.subscribeProperties(target, access);
+				Assert.fail("Should not allow more subscriptions than limit");
+			} catch (IllegalStateException e) {}
+			Assert.assertFalse(PropertyChangeWatcher.INSTANCE.unsubscribe(access, target, "count"));
+
+			helper.subscribeProperties(target, access, "count", "name");
+			// already watched properties are not counted twice
+			helper.subscribeProperties(target, access, "count");
+
+			try {
+				helper.subscribeProperties(target, access, "flag");
+				Assert.fail("Should not allow more subscriptions than limit");
+			} catch (IllegalStateException e) {}
+
+			Assert.assertTrue(PropertyChangeWatcher.INSTANCE.unsubscribe(access, target, "count"));
+			helper.subscribeProperties(target, access, "flag");
+		} finally {
+			Config.maxPropertySubscriptions = prevLimit;
+			helper.unsubscribeProperties(target, access);
+		}
+	}
+
+	private static Object callChain(IArchitectureAccess access, Object[]... steps) throws Exception {
+		return new CallChainHelper(compose(ChainTarget.class)).callChain(new ChainTarget(), access, access.getConverter(), null, steps);
+	}
+
+	private static Object callChain(Object[]... steps) throws Exception {
+		return callChain(createAccess(true), steps);
+	}
+
+	private static Object[] step(Object... values) {
+		return values;
+	}
+
+	@Test
+	public void testCallChain() throws Exception {
+		Assert.assertEquals(1, callChain(step("getNumber")));
+		Assert.assertEquals(7, callChain(step("getChild", 4), step("add", 3)));
+		Assert.assertEquals(43, callChain(step("getChild", 4), step("next"), step("add", 3)));
+	}
+
+	private static void checkChainFailure(Object[]... steps) throws Exception {
+		try {
+			callChain(steps);
+			Assert.fail("Chain should fail");
+		} catch (IllegalArgumentException e) {}
+	}
+
+	@Test
+	public void testCallChainErrors() throws Exception {
+		checkChainFailure();
+		checkChainFailure(step("missing"));
+		checkChainFailure(step(3));
+		checkChainFailure(step("getChild", 4), step("missing"));
+		checkChainFailure(step("getNothing"), step("add", 3));
+		checkChainFailure(step("getNumber"), step("add", 3));
+	}
+
+	@Test
+	public void testCallChainStepsAreRateLimited() throws Exception {
+		final int prevRate = Config.methodSyncCallRate;
+		final int prevBurst = Config.callRateBurstSeconds;
+		try {
+			Config.methodSyncCallRate = 1;
+			Config.callRateBurstSeconds = 1;
+
+			final IArchitectureAccess access = createAccess(true);
+			when(access.callerName()).thenReturn("rate_limited_computer");
+
+			// every method has own budget, so first chain passes
+			Assert.assertEquals(7, callChain(access, step("getChild", 4), step("add", 3)));
+
+			try {
+				callChain(access, step("getOther"), step("add", 3));
+				Assert.fail("Second call of add should be throttled");
+			} catch (IllegalStateException e) {
+				Assert.assertTrue(e.getMessage().startsWith("Step 2"));
+			}
+		} finally {
+			Config.methodSyncCallRate = prevRate;
+			Config.callRateBurstSeconds = prevBurst;
+		}
+	}
+}
@@ -2,24 +2,30 @@ package openperipheral.tests;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import openperipheral.adapter.IPreparedCall;
 import openperipheral.adapter.method.MethodDeclaration;
+import openperipheral.api.Constants;
 import openperipheral.api.adapter.method.Alias;
 import openperipheral.api.adapter.method.Arg;
+import openperipheral.api.adapter.method.DetachedResult;
 import openperipheral.api.adapter.method.Env;
 import openperipheral.api.adapter.method.IMultiReturn;
 import openperipheral.api.adapter.method.MultipleReturn;
 import openperipheral.api.adapter.method.Optionals;
 import openperipheral.api.adapter.method.ReturnType;
 import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.converter.IConverter;
 import openperipheral.api.helpers.MultiReturn;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class MethodDescriptionTest {
 
@@ -496,4 +502,82 @@ public class MethodDescriptionTest {
 		createMethodDecl(SameNamedEnv.class);
 	}
 
+	public static class LiveState {}
+
+	public static class AttachedResult {
+		public final LiveState state = new LiveState();
+
+		@ScriptCallable(returnTypes = ReturnType.OBJECT)
+		public List<Object> test() {
+			return Lists.<Object> newArrayList("out", state);
+		}
+	}
+
+	@Test
+	public void testAttachedResultConvertedOnInvoke() throws Exception {
+		MethodDeclaration decl = createMethodDecl(AttachedResult.class);
+		IConverter converter = Mockito.mock(IConverter.class);
+		AttachedResult target = new AttachedResult();
+		Mockito.when(converter.fromJava(Arrays.asList("out", target.state))).thenReturn("converted");
+
+		IPreparedCall call = decl.startCall(target).setEnv(Constants.ARG_CONVERTER, converter).prepare();
+		Object result = call.invoke();
+		Mockito.verify(converter).fromJava(Arrays.asList("out", target.state));
+
+		Assert.assertArrayEquals(new Object[] { "converted" }, call.convertResult(result));
+		Mockito.verifyNoMoreInteractions(converter);
+	}
+
+	public static class PlainResult {
+		public final Map<String, List<Integer>> values = Maps.newHashMap();
+
+		@ScriptCallable(returnTypes = ReturnType.TABLE)
+		public Map<String, List<Integer>> test() {
+			return values;
+		}
+	}
+
+	@Test
+	public void testPlainResultConvertedAfterInvoke() throws Exception {
+		MethodDeclaration decl = createMethodDecl(PlainResult.class);
+		IConverter converter = Mockito.mock(IConverter.class);
+
+		PlainResult target = new PlainResult();
+		target.values.put("a", Lists.newArrayList(1, 2));
+		IPreparedCall call = decl.startCall(target).setEnv(Constants.ARG_CONVERTER, converter).prepare();
+		Object result = call.invoke();
+		Mockito.verifyZeroInteractions(converter);
+
+		// copy is taken in main thread, so later changes are not visible
+		target.values.get("a").add(3);
+		target.values.put("b", Lists.newArrayList(4));
+		call.convertResult(result);
+		Mockito.verify(converter).fromJava(ImmutableMap.of("a", Arrays.asList(1, 2)));
+	}
+
+	public static class SnapshotResult {
+		public final List<String> values = Lists.newArrayList("a");
+
+		@DetachedResult(snapshot = true)
+		@ScriptCallable(returnTypes = ReturnType.TABLE)
+		public List<String> test() {
+			return values;
+		}
+	}
+
+	@Test
+	public void testSnapshotResultConvertedAfterInvoke() throws Exception {
+		MethodDeclaration decl = createMethodDecl(SnapshotResult.class);
+		IConverter converter = Mockito.mock(IConverter.class);
+
+		SnapshotResult target = new SnapshotResult();
+		IPreparedCall call = decl.startCall(target).setEnv(Constants.ARG_CONVERTER, converter).prepare();
+		Object result = call.invoke();
+		Mockito.verifyZeroInteractions(converter);
+
+		target.values.add("b");
+		call.convertResult(result);
+		Mockito.verify(converter).fromJava(Arrays.asList("a"));
+	}
+
 }
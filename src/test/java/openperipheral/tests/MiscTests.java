@@ -1,11 +1,89 @@
 package openperipheral.tests;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Predicates;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.api.lua.ILuaTask;
+import dan200.computercraft.api.peripheral.IComputerAccess;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import openperipheral.Config;
+import openperipheral.adapter.AdapterRegistry;
+import openperipheral.adapter.AnnotationMetaExtractor;
+import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.IPreparedCall;
+import openperipheral.adapter.PeripheralTypeProvider;
+import openperipheral.adapter.composed.ClassMethodsComposer;
+import openperipheral.adapter.composed.ComposedMethodsFactory;
+import openperipheral.adapter.composed.NamedMethodMap;
 import openperipheral.adapter.types.IntegerRange;
+import openperipheral.adapter.wrappers.CallRateLimiter;
+import openperipheral.adapter.wrappers.TaskDeadline;
+import openperipheral.api.Constants;
+import openperipheral.api.adapter.Asynchronous;
+import openperipheral.api.adapter.IPeripheralAdapter;
+import openperipheral.api.adapter.ThreadSafe;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.adapter.method.ScriptObject;
+import openperipheral.api.converter.IConverter;
+import openperipheral.api.helpers.Index;
+import openperipheral.api.helpers.LazyCollection;
+import openperipheral.api.helpers.PackedArray;
+import openperipheral.interfaces.cc.SynchronousExecutor;
+import openperipheral.meta.MetaDeltaTracker;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 public class MiscTests {
 
+	@ThreadSafe
+	public static class ThreadSafeClass {
+		public int inherited() {
+			return 0;
+		}
+
+		@Asynchronous(false)
+		public int explicitSync() {
+			return 0;
+		}
+
+		@ThreadSafe(false)
+		public int notThreadSafe() {
+			return 0;
+		}
+	}
+
+	public static class PlainClass {
+		public int plain() {
+			return 0;
+		}
+
+		@ThreadSafe
+		public int threadSafe() {
+			return 0;
+		}
+	}
+
 	private static void testRange(String expected, IntegerRange range) {
 		Assert.assertEquals(expected, range.describe());
 	}
@@ -24,4 +102,340 @@ public class MiscTests {
 		testRange("[3..5)", IntegerRange.rightOpen(3, 5));
 	}
 
+	@Test
+	public void testMetaDeltaTracker() {
+		IConverter converter = mock(IConverter.class);
+		when(converter.fromJava(any())).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0];
+			}
+		});
+
+		MetaDeltaTracker tracker = new MetaDeltaTracker();
+
+		Map<String, Object> values = Maps.newHashMap();
+		values.put("qty", 3);
+		values.put("name", "stone");
+
+		Object[] result = tracker.update(converter, values, null).getObjects();
+		Assert.assertEquals(values, result[0]);
+		final Integer version = (Integer)result[1];
+
+		values.put("qty", 4);
+		result = tracker.update(converter, values, version).getObjects();
+		Assert.assertEquals(ImmutableMap.of("qty", 4), result[0]);
+		Assert.assertEquals(ImmutableList.of(), result[2]);
+
+		values.remove("name");
+		result = tracker.update(converter, values, (Integer)result[1]).getObjects();
+		Assert.assertEquals(ImmutableMap.of(), result[0]);
+		Assert.assertEquals(ImmutableList.of("name"), result[2]);
+
+		// outdated version - full refresh
+		result = tracker.update(converter, values, version).getObjects();
+		Assert.assertEquals(values, result[0]);
+	}
+
+	@ScriptObject
+	public static class DeltaScriptObject {}
+
+	@Test
+	public void testMetaDeltaTrackerConversion() {
+		IConverter converter = mock(IConverter.class);
+		when(converter.fromJava(any())).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return "converted:" + invocation.getArguments()[0];
+			}
+		});
+
+		MetaDeltaTracker tracker = new MetaDeltaTracker();
+
+		Map<String, Object> values = Maps.newHashMap();
+		values.put("name", "stone");
+		final DeltaScriptObject object = new DeltaScriptObject();
+		values.put("object", object);
+
+		Object[] result = tracker.update(converter, values, null).getObjects();
+		Assert.assertEquals(ImmutableMap.of("name", "converted:stone", "object", object), result[0]);
+		verify(converter, times(1)).fromJava(any());
+
+		// new script object instance - no change
+		values.put("object", new DeltaScriptObject());
+		result = tracker.update(converter, values, (Integer)result[1]).getObjects();
+		Assert.assertEquals(ImmutableMap.of(), result[0]);
+	}
+
+	private static class ManualTicker extends Ticker {
+		private long time;
+
+		@Override
+		public long read() {
+			return time;
+		}
+	}
+
+	@Test
+	public void testTaskDeadline() {
+		Assert.assertSame(TaskDeadline.NONE, TaskDeadline.start(0));
+		Assert.assertSame(TaskDeadline.NONE, TaskDeadline.start(-5));
+		Assert.assertFalse(TaskDeadline.NONE.hasExpired());
+
+		final ManualTicker ticker = new ManualTicker();
+		ticker.time = Long.MAX_VALUE - 1000000L;
+		TaskDeadline deadline = TaskDeadline.start(2, ticker);
+		Assert.assertFalse(deadline.hasExpired());
+
+		ticker.time += 2000000L;
+		Assert.assertFalse(deadline.hasExpired());
+
+		// nanoTime may overflow, only difference matters
+		ticker.time += 1;
+		Assert.assertTrue(deadline.hasExpired());
+	}
+
+	@Test
+	public void testCallRateLimiter() {
+		final int prevMethodSyncRate = Config.methodSyncCallRate;
+		final int prevBurst = Config.callRateBurstSeconds;
+		try {
+			Config.methodSyncCallRate = 2;
+			Config.callRateBurstSeconds = 1;
+
+			CallRateLimiter limiter = new CallRateLimiter();
+			Assert.assertEquals(0, limiter.tryAcquire("c1", "chest", "getX", true));
+			Assert.assertEquals(0, limiter.tryAcquire("c1", "chest", "getX", true));
+			Assert.assertTrue(limiter.tryAcquire("c1", "chest", "getX", true) > 0);
+
+			// separate budgets
+			Assert.assertEquals(0, limiter.tryAcquire("c1", "chest", "getY", true));
+			Assert.assertEquals(0, limiter.tryAcquire("c2", "chest", "getX", true));
+			Assert.assertEquals(0, limiter.tryAcquire("c1", "chest", "getX", false));
+
+			Assert.assertEquals(1L, limiter.getStats().get("throttledSyncCalls"));
+		} finally {
+			Config.methodSyncCallRate = prevMethodSyncRate;
+			Config.callRateBurstSeconds = prevBurst;
+		}
+	}
+
+	@Test
+	public void testCallRateLimiterWithoutLimits() {
+		CallRateLimiter limiter = new CallRateLimiter();
+		Assert.assertEquals(0, limiter.tryAcquire("c1", "chest", "getX", true));
+		Assert.assertEquals(0, limiter.getStats().get("buckets"));
+	}
+
+	@Test
+	public void testCallRateLimiterConcurrent() throws Exception {
+		final int prevComputerSyncRate = Config.computerSyncCallRate;
+		final int prevBurst = Config.callRateBurstSeconds;
+		try {
+			// single token, refilled after one second - longer than test takes
+			Config.computerSyncCallRate = 1;
+			Config.callRateBurstSeconds = 1;
+
+			final CallRateLimiter limiter = new CallRateLimiter();
+			final List<Thread> threads = Lists.newArrayList();
+			for (int t = 0; t < 4; t++) {
+				final String method = "method" + t;
+				threads.add(new Thread() {
+					@Override
+					public void run() {
+						for (int i = 0; i < 100; i++)
+							limiter.tryAcquire("c1", "chest", method, true);
+					}
+				});
+			}
+
+			for (Thread thread : threads)
+				thread.start();
+
+			for (Thread thread : threads)
+				thread.join();
+
+			Assert.assertEquals(1L, limiter.getStats().get("allowedSyncCalls"));
+			Assert.assertEquals(399L, limiter.getStats().get("throttledSyncCalls"));
+		} finally {
+			Config.computerSyncCallRate = prevComputerSyncRate;
+			Config.callRateBurstSeconds = prevBurst;
+		}
+	}
+
+	@Test
+	public void testPeripheralTypeRemoval() {
+		final PeripheralTypeProvider provider = new PeripheralTypeProvider();
+		provider.setType(EpochTarget.class, "custom");
+		Assert.assertEquals("custom", provider.getType(EpochTarget.class));
+
+		provider.setType(EpochTarget.class, null);
+		Assert.assertNull(provider.getType(EpochTarget.class));
+
+		// removing missing entry is no-op
+		provider.setType(EpochTarget.class, null);
+		Assert.assertNull(provider.getType(EpochTarget.class));
+	}
+
+	@Test
+	public void testThreadSafeImpliesAsync() throws Exception {
+		AnnotationMetaExtractor threadSafe = new AnnotationMetaExtractor(ThreadSafeClass.class);
+		Assert.assertTrue(threadSafe.isAsync(ThreadSafeClass.class.getMethod("inherited")));
+		Assert.assertFalse(threadSafe.isAsync(ThreadSafeClass.class.getMethod("explicitSync")));
+		Assert.assertFalse(threadSafe.isAsync(ThreadSafeClass.class.getMethod("notThreadSafe")));
+		Assert.assertFalse(threadSafe.isThreadSafe(ThreadSafeClass.class.getMethod("notThreadSafe")));
+
+		AnnotationMetaExtractor plain = new AnnotationMetaExtractor(PlainClass.class);
+		Assert.assertFalse(plain.isAsync(PlainClass.class.getMethod("plain")));
+		Assert.assertTrue(plain.isAsync(PlainClass.class.getMethod("threadSafe")));
+		Assert.assertTrue(plain.isThreadSafe(PlainClass.class.getMethod("threadSafe")));
+	}
+
+	@Test
+	public void testLazyCollection() {
+		List<String> source = Lists.newArrayList("a", "b", "c");
+		LazyCollection collection = LazyCollection.of(source);
+		source.clear();
+
+		Assert.assertEquals(3, collection.size());
+		Assert.assertEquals("b", collection.get(Index.toJava(2, 1)));
+		Assert.assertEquals(Arrays.asList("b", "c"), collection.slice(Index.toJava(1, 0), 5));
+
+		Assert.assertEquals(Arrays.asList("a", "b"), collection.next(2));
+		Assert.assertEquals(Arrays.asList("c"), collection.next(2));
+		Assert.assertTrue(collection.next(2).isEmpty());
+
+		LazyCollection map = LazyCollection.of(ImmutableMap.of("k", 1));
+		Assert.assertEquals(ImmutableMap.of("key", "k", "value", 1), map.get(Index.toJava(0, 0)));
+
+		// entries must not be views of source map
+		final Map<String, Integer> sourceMap = Maps.newHashMap();
+		sourceMap.put("k", 1);
+		LazyCollection copiedMap = LazyCollection.of(sourceMap);
+		sourceMap.put("k", 2);
+		Assert.assertEquals(ImmutableMap.of("key", "k", "value", 1), copiedMap.get(Index.toJava(0, 0)));
+	}
+
+	@Test
+	public void testLazyCollectionMethodsSkipMainThreadConversion() throws Exception {
+		final Map<String, IMethodExecutor> methods = new ClassMethodsComposer(Predicates.<IMethodExecutor> alwaysTrue()).createMethodsList(LazyCollection.class, new AdapterRegistry());
+		Assert.assertTrue(methods.get("size").isAsynchronous());
+		Assert.assertFalse(methods.get("get").isAsynchronous());
+
+		final IConverter converter = mock(IConverter.class);
+		when(converter.toJava(any(), any(Type.class))).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0];
+			}
+		});
+
+		final LazyCollection collection = LazyCollection.of(Lists.newArrayList("a", "b"));
+		final IPreparedCall call = methods.get("slice").startCall(collection).setEnv(Constants.ARG_CONVERTER, converter).prepare(Index.toJava(1, 1), 2);
+		final Object result = call.invoke();
+		verify(converter, never()).fromJava(any());
+
+		call.convertResult(result);
+		verify(converter, times(1)).fromJava(Arrays.asList("a", "b"));
+	}
+
+	@Test
+	public void testLazyCollectionHugeCount() {
+		LazyCollection collection = LazyCollection.of(Lists.newArrayList("a", "b", "c"));
+		Assert.assertEquals(Arrays.asList("b", "c"), collection.slice(Index.toJava(1, 0), Integer.MAX_VALUE));
+		Assert.assertEquals(Arrays.asList("a"), collection.next(1));
+		Assert.assertEquals(Arrays.asList("b", "c"), collection.next(Integer.MAX_VALUE));
+		Assert.assertTrue(collection.next(Integer.MAX_VALUE).isEmpty());
+	}
+
+	@Test
+	public void testPackedArrayLayout() {
+		Assert.assertArrayEquals(new byte[] { 'i', 2, 0, 0, 0, 1, 0, 0, 0, (byte)0xFE, (byte)0xFF, (byte)0xFF, (byte)0xFF },
+				PackedArray.of(new int[] { 1, -2 }).getData());
+
+		Assert.assertArrayEquals(new byte[] { 'h', 1, 0, 0, 0, 0x34, 0x12 },
+				PackedArray.of(new short[] { 0x1234 }).getData());
+
+		Assert.assertArrayEquals(new byte[] { 'd', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte)0xF0, 0x3F },
+				PackedArray.of(new double[] { 1.0 }).getData());
+	}
+
+	public static class EpochTarget {}
+
+	public static class EpochAdapter implements IPeripheralAdapter {
+		@Override
+		public String getSourceId() {
+			return "epoch_test";
+		}
+
+		@Override
+		public Class<?> getTargetClass() {
+			return EpochTarget.class;
+		}
+
+		@ScriptCallable(returnTypes = ReturnType.NUMBER)
+		public int getValue(EpochTarget target) {
+			return 1;
+		}
+	}
+
+	@Test
+	public void testComposedClassesDroppedOnEpochChange() {
+		// private registry, so global state is not affected
+		final AdapterRegistry registry = new AdapterRegistry();
+		final ComposedMethodsFactory<NamedMethodMap> factory = new ComposedMethodsFactory<NamedMethodMap>(registry, Predicates.<IMethodExecutor> alwaysTrue()) {
+			@Override
+			protected NamedMethodMap wrapMethods(Class<?> targetCls, Map<String, IMethodExecutor> methods) {
+				return new NamedMethodMap(methods);
+			}
+		};
+
+		final NamedMethodMap first = factory.getAdaptedClass(EpochTarget.class);
+		Assert.assertSame(first, factory.getAdaptedClass(EpochTarget.class));
+		final long epoch = factory.getEpoch();
+
+		Assert.assertTrue(registry.addAdapter(new EpochAdapter()));
+		Assert.assertTrue(factory.getEpoch() > epoch);
+
+		final NamedMethodMap second = factory.getAdaptedClass(EpochTarget.class);
+		Assert.assertNotSame(first, second);
+		Assert.assertNotNull(second.getMethod("getValue"));
+		Assert.assertSame(second, factory.getAdaptedClass(EpochTarget.class));
+	}
+
+	@Test
+	public void testThrottledSleepSkipsMainThread() throws Exception {
+		final BlockingQueue<Object[]> events = Queues.newLinkedBlockingQueue();
+
+		final IComputerAccess computer = mock(IComputerAccess.class);
+		doAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				final Object[] args = (Object[])invocation.getArguments()[1];
+				events.add(new Object[] { invocation.getArguments()[0], args[0] });
+				return null;
+			}
+		}).when(computer).queueEvent(any(String.class), any(Object[].class));
+
+		final ILuaContext context = mock(ILuaContext.class);
+		when(context.pullEvent(any(String.class))).thenAnswer(new Answer<Object[]>() {
+			private boolean first = true;
+
+			@Override
+			public Object[] answer(InvocationOnMock invocation) throws Throwable {
+				// event left by other sleep should be ignored
+				if (first) {
+					first = false;
+					return new Object[] { invocation.getArguments()[0], -1 };
+				}
+				return events.poll(5, TimeUnit.SECONDS);
+			}
+		});
+
+		SynchronousExecutor.sleep(computer, context, 10);
+
+		verify(context, times(2)).pullEvent(any(String.class));
+		verify(context, never()).issueMainThreadTask(any(ILuaTask.class));
+		Assert.assertTrue(events.isEmpty());
+	}
 }
@@ -0,0 +1,224 @@
+package openperipheral.tests;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import dan200.computercraft.api.lua.ILuaContext;
+import dan200.computercraft.api.peripheral.IComputerAccess;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import openperipheral.Config;
+import openperipheral.adapter.AdapterRegistry;
+import openperipheral.adapter.IMethodCall;
+import openperipheral.adapter.IMethodExecutor;
+import openperipheral.adapter.IPreparedCall;
+import openperipheral.adapter.composed.ClassMethodsComposer;
+import openperipheral.adapter.composed.MethodSelector;
+import openperipheral.api.Constants;
+import openperipheral.api.adapter.method.ReturnType;
+import openperipheral.api.adapter.method.ScriptCallable;
+import openperipheral.api.converter.IConverter;
+import openperipheral.interfaces.cc.wrappers.AdapterPeripheral;
+import openperipheral.interfaces.cc.wrappers.AttachedPeripherals;
+import openperipheral.interfaces.cc.wrappers.PeripheralGroupHelper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class PeripheralGroupTest {
+
+	public static class GroupTarget {
+		@ScriptCallable(returnTypes = ReturnType.NUMBER)
+		public int getValue() {
+			return 1;
+		}
+	}
+
+	public static class OwnCallManyTarget extends GroupTarget {
+		@ScriptCallable(returnTypes = ReturnType.STRING)
+		public String callMany() {
+			return "own";
+		}
+	}
+
+	private static MethodSelector createSelector(boolean provideComputer) {
+		final MethodSelector selector = new MethodSelector(Constants.ARCH_COMPUTER_CRAFT)
+				.addDefaultEnv()
+				.addProvidedEnv(Constants.ARG_CONTEXT, ILuaContext.class);
+		if (provideComputer) selector.addProvidedEnv(Constants.ARG_COMPUTER, IComputerAccess.class);
+		return selector;
+	}
+
+	private static Map<String, IMethodExecutor> compose(Class<?> cls, boolean provideComputer) {
+		return new ClassMethodsComposer(createSelector(provideComputer), ImmutableList.<Object> of(new PeripheralGroupHelper())).createMethodsList(cls, new AdapterRegistry());
+	}
+
+	private static IConverter createIdentityConverter() {
+		final IConverter converter = mock(IConverter.class);
+		final Answer<Object> identity = new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0];
+			}
+		};
+		when(converter.fromJava(any())).thenAnswer(identity);
+		when(converter.toJava(any(), any(Type.class))).thenAnswer(identity);
+		return converter;
+	}
+
+	@Test
+	public void testCallManyIsComposed() throws Exception {
+		final Map<String, IMethodExecutor> methods = compose(GroupTarget.class, true);
+
+		final IMethodExecutor callMany = methods.get("callMany");
+		Assert.assertNotNull(callMany);
+		Assert.assertEquals("<meta>", callMany.description().source());
+
+		final Object[] listed = methods.get("listMethods").startCall(new GroupTarget()).setEnv(Constants.ARG_CONVERTER, createIdentityConverter()).call();
+		Assert.assertTrue(String.valueOf(listed[0]).contains("callMany("));
+	}
+
+	@Test
+	public void testCallManyRequiresComputer() {
+		Assert.assertFalse(compose(GroupTarget.class, false).containsKey("callMany"));
+	}
+
+	@Test
+	public void testCallManyDoesNotHideAdapterMethod() {
+		Assert.assertNotEquals("<meta>", compose(OwnCallManyTarget.class, true).get("callMany").description().source());
+	}
+
+	private static IComputerAccess createComputer(int id, String attachmentName) {
+		final IComputerAccess computer = mock(IComputerAccess.class);
+		when(computer.getID()).thenReturn(id);
+		when(computer.getAttachmentName()).thenReturn(attachmentName);
+		return computer;
+	}
+
+	@Test
+	public void testAttachedPeripherals() {
+		final AttachedPeripherals peripherals = new AttachedPeripherals();
+		final AdapterPeripheral left = mock(AdapterPeripheral.class);
+		final AdapterPeripheral right = mock(AdapterPeripheral.class);
+
+		final IComputerAccess leftComputer = createComputer(1, "left");
+		final IComputerAccess rightComputer = createComputer(1, "right");
+
+		peripherals.add(leftComputer, left);
+		peripherals.add(rightComputer, right);
+		Assert.assertEquals(1, peripherals.getComputerCount());
+		Assert.assertSame(left, peripherals.find(1, "left").peripheral);
+		Assert.assertNull(peripherals.find(2, "left"));
+
+		// name is not available after detach, so it can't be used for removal
+		when(leftComputer.getAttachmentName()).thenReturn(null);
+		peripherals.remove(leftComputer);
+		Assert.assertNull(peripherals.find(1, "left"));
+		Assert.assertSame(right, peripherals.find(1, "right").peripheral);
+
+		peripherals.remove(rightComputer);
+		Assert.assertNull(peripherals.find(1, "right"));
+		Assert.assertEquals(0, peripherals.getComputerCount());
+
+		// removing already removed computer is no-op
+		peripherals.remove(rightComputer);
+		Assert.assertEquals(0, peripherals.getComputerCount());
+	}
+
+	private static AdapterPeripheral createPeripheral(IMethodExecutor executor, IPreparedCall preparedCall) throws Exception {
+		final IMethodCall call = mock(IMethodCall.class);
+		when(call.prepare(anyVararg())).thenReturn(preparedCall);
+
+		final AdapterPeripheral peripheral = mock(AdapterPeripheral.class);
+		when(peripheral.isTargetValid()).thenReturn(true);
+		when(peripheral.getType()).thenReturn("group_test");
+		when(peripheral.getMethod("getValue")).thenReturn(executor);
+		when(peripheral.prepareCall(any(IMethodExecutor.class), any(IComputerAccess.class), any(ILuaContext.class))).thenReturn(call);
+		return peripheral;
+	}
+
+	private static IMethodExecutor createAsyncExecutor() {
+		final IMethodExecutor executor = mock(IMethodExecutor.class);
+		when(executor.isAsynchronous()).thenReturn(true);
+		return executor;
+	}
+
+	@Test
+	public void testCallMany() throws Exception {
+		final IMethodExecutor executor = createAsyncExecutor();
+
+		final IPreparedCall working = mock(IPreparedCall.class);
+		when(working.invoke()).thenReturn(5);
+		when(working.convertResult(5)).thenReturn(new Object[] { 5 });
+
+		final IPreparedCall failing = mock(IPreparedCall.class);
+		when(failing.invoke()).thenThrow(new IllegalStateException("broken"));
+
+		final AdapterPeripheral invalid = createPeripheral(executor, working);
+		when(invalid.isTargetValid()).thenReturn(false);
+
+		final IComputerAccess workingComputer = createComputer(1001, "working");
+		final IComputerAccess failingComputer = createComputer(1001, "failing");
+		final IComputerAccess invalidComputer = createComputer(1001, "invalid");
+		AttachedPeripherals.INSTANCE.add(workingComputer, createPeripheral(executor, working));
+		AttachedPeripherals.INSTANCE.add(failingComputer, createPeripheral(executor, failing));
+		AttachedPeripherals.INSTANCE.add(invalidComputer, invalid);
+
+		try {
+			final Object[] result = new PeripheralGroupHelper().callMany(workingComputer, mock(ILuaContext.class), new String[] { "working", "failing", "invalid", "missing" }, "getValue").getObjects();
+
+			Assert.assertEquals(ImmutableMap.of("working", ImmutableList.of(5)), toLists(result[0]));
+
+			@SuppressWarnings("unchecked")
+			final Map<String, String> errors = (Map<String, String>)result[1];
+			Assert.assertEquals(ImmutableSet.of("failing", "invalid", "missing"), errors.keySet());
+			Assert.assertTrue(errors.get("failing").contains("broken"));
+		} finally {
+			AttachedPeripherals.INSTANCE.remove(workingComputer);
+			AttachedPeripherals.INSTANCE.remove(failingComputer);
+			AttachedPeripherals.INSTANCE.remove(invalidComputer);
+		}
+	}
+
+	private static Map<String, ImmutableList<Object>> toLists(Object results) {
+		final ImmutableMap.Builder<String, ImmutableList<Object>> builder = ImmutableMap.builder();
+		for (Map.Entry<?, ?> e : ((Map<?, ?>)results).entrySet())
+			builder.put((String)e.getKey(), ImmutableList.copyOf((Object[])e.getValue()));
+		return builder.build();
+	}
+
+	@Test
+	public void testCallManyTimeout() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final IPreparedCall blocking = mock(IPreparedCall.class);
+		when(blocking.invoke()).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				release.await();
+				return 5;
+			}
+		});
+
+		final IComputerAccess computer = createComputer(1002, "blocking");
+		AttachedPeripherals.INSTANCE.add(computer, createPeripheral(createAsyncExecutor(), blocking));
+
+		final int prevTimeout = Config.callTimeout;
+		try {
+			Config.callTimeout = 50;
+			final Object[] result = new PeripheralGroupHelper().callMany(computer, mock(ILuaContext.class), new String[] { "blocking" }, "getValue").getObjects();
+			Assert.assertTrue(((Map<?, ?>)result[0]).isEmpty());
+			Assert.assertTrue(((Map<?, ?>)result[1]).containsKey("blocking"));
+		} finally {
+			Config.callTimeout = prevTimeout;
+			release.countDown();
+			AttachedPeripherals.INSTANCE.remove(computer);
+		}
+	}
+}
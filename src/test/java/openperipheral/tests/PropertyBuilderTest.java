@@ -31,11 +31,15 @@ import openperipheral.api.struct.StructField;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 public class PropertyBuilderTest {
 
 	private static final boolean IS_DELEGATING = true;
 
+	private static final boolean NOT_DELEGATING = false;
+
 	private static final boolean READ_ONLY = true;
 
 	private static final boolean READ_WRITE = false;
@@ -46,6 +50,8 @@ public class PropertyBuilderTest {
 
 	private static final boolean NOT_EXPANDABLE = false;
 
+	private static final boolean EXPANDABLE = true;
+
 	private static final String SOURCE = "sourcezzz";
 
 	private static class Value {}
@@ -737,4 +743,139 @@ public class PropertyBuilderTest {
 			verifyIndexedSetterExecution(executor, genericField, Index.class, Long.class);
 		}
 	}
+
+	@Test
+	public void testIndexedRangeGetterSetter() {
+		PropertyListBuilder builder = create(FieldSource.class, listField);
+		builder.addIndexed("Hello", "", "", NOT_DELEGATING, READ_WRITE, NOT_NULLABLE, NOT_EXPANDABLE, GetTypeFromField.class, ArgType.AUTO, GetTypeFromField.class, ArgType.AUTO);
+
+		List<IMethodExecutor> output = buildPropertyListAndCheckSize(builder, 4);
+
+		{
+			IMethodExecutor executor = findAndVerifyExecutor("getHelloRange", output);
+			checkDescriptionRaw(executor, "[string]", "number", "number");
+			checkParamOptionality(executor, 0, false);
+			checkParamOptionality(executor, 1, true);
+		}
+
+		{
+			IMethodExecutor executor = findAndVerifyExecutor("setHelloRange", output);
+			checkDescriptionRaw(executor, "()", "number", "[string]");
+			checkParamOptionality(executor, 0, false);
+		}
+	}
+
+	private static IConverter createIdentityConverter() {
+		final IConverter converter = mock(IConverter.class);
+		final Answer<Object> identity = new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return invocation.getArguments()[0];
+			}
+		};
+		when(converter.toJava(any(), any(Type.class))).thenAnswer(identity);
+		when(converter.fromJava(any())).thenAnswer(identity);
+		return converter;
+	}
+
+	private static Object callRangeMethod(IMethodExecutor executor, Object target, Object... args) throws Exception {
+		final IMethodCall call = executor.startCall(target);
+		call.setEnv(Constants.ARG_CONVERTER, createIdentityConverter());
+		final Object[] result = call.call(args);
+		return result.length > 0? result[0] : null;
+	}
+
+	@Test
+	public void testListRangeExecution() throws Exception {
+		PropertyListBuilder builder = create(FieldSource.class, listField);
+		builder.addIndexed("Hello", "", "", NOT_DELEGATING, READ_WRITE, NOT_NULLABLE, NOT_EXPANDABLE, GetTypeFromField.class, ArgType.AUTO, GetTypeFromField.class, ArgType.AUTO);
+		List<IMethodExecutor> output = buildPropertyListAndCheckSize(builder, 4);
+
+		final FieldSource target = new FieldSource();
+		target.listField = Lists.newArrayList("a", "b", "c", "d");
+
+		final IMethodExecutor getter = findExecutor("getHelloRange", output);
+		Assert.assertEquals(Lists.newArrayList("b", "c", "d"), callRangeMethod(getter, target, Index.fromJava(1, 1)));
+		Assert.assertEquals(Lists.newArrayList("b", "c"), callRangeMethod(getter, target, Index.fromJava(1, 1), Index.fromJava(2, 1)));
+		Assert.assertEquals(Lists.newArrayList(), callRangeMethod(getter, target, Index.fromJava(10, 1)));
+
+		final IMethodExecutor setter = findExecutor("setHelloRange", output);
+		callRangeMethod(setter, target, Index.fromJava(1, 1), Lists.newArrayList("x", "y"));
+		Assert.assertEquals(Lists.newArrayList("a", "x", "y", "d"), target.listField);
+
+		// write past end of non-expandable list fails before any element is modified
+		try {
+			callRangeMethod(setter, target, Index.fromJava(3, 1), Lists.newArrayList("p", "q"));
+			Assert.fail("Should not allow writing past end");
+		} catch (IllegalArgumentException e) {}
+		Assert.assertEquals(Lists.newArrayList("a", "x", "y", "d"), target.listField);
+
+		try {
+			callRangeMethod(setter, target, Index.fromJava(10, 1), Lists.newArrayList("p"));
+			Assert.fail("Should not allow out of range start");
+		} catch (IllegalArgumentException e) {}
+		Assert.assertEquals(Lists.newArrayList("a", "x", "y", "d"), target.listField);
+
+		// last element is in range, but nothing may be written when start is not
+		try {
+			callRangeMethod(setter, target, Index.fromJava(-1, 1), Lists.newArrayList("p", "q"));
+			Assert.fail("Should not allow negative start");
+		} catch (IllegalArgumentException e) {}
+		Assert.assertEquals(Lists.newArrayList("a", "x", "y", "d"), target.listField);
+	}
+
+	@Test
+	public void testExpandingListRangeExecution() throws Exception {
+		PropertyListBuilder builder = create(FieldSource.class, listField);
+		builder.addIndexed("Hello", "", "", NOT_DELEGATING, READ_WRITE, NOT_NULLABLE, EXPANDABLE, GetTypeFromField.class, ArgType.AUTO, GetTypeFromField.class, ArgType.AUTO);
+		List<IMethodExecutor> output = buildPropertyListAndCheckSize(builder, 4);
+
+		final FieldSource target = new FieldSource();
+		target.listField = Lists.newArrayList("a");
+
+		final IMethodExecutor setter = findExecutor("setHelloRange", output);
+		callRangeMethod(setter, target, Index.fromJava(2, 1), Lists.newArrayList("x", "y"));
+		Assert.assertEquals(Lists.newArrayList("a", null, "x", "y"), target.listField);
+
+		try {
+			callRangeMethod(setter, target, Index.fromJava(-2, 1), Lists.newArrayList("p", "q", "r"));
+			Assert.fail("Should not allow negative start");
+		} catch (IllegalArgumentException e) {}
+		Assert.assertEquals(Lists.newArrayList("a", null, "x", "y"), target.listField);
+
+		final IMethodExecutor getter = findExecutor("getHelloRange", output);
+		Assert.assertEquals(Lists.newArrayList(null, "x", "y"), callRangeMethod(getter, target, Index.fromJava(1, 1)));
+	}
+
+	@Test
+	public void testArrayRangeExecution() throws Exception {
+		PropertyListBuilder builder = create(FieldSource.class, arrayField);
+		builder.addIndexed("Hello", "", "", NOT_DELEGATING, READ_WRITE, NOT_NULLABLE, EXPANDABLE, GetTypeFromField.class, ArgType.AUTO, GetTypeFromField.class, ArgType.AUTO);
+		List<IMethodExecutor> output = buildPropertyListAndCheckSize(builder, 4);
+
+		final FieldSource target = new FieldSource();
+		target.arrayField = new boolean[] { false, false };
+
+		final IMethodExecutor setter = findExecutor("setHelloRange", output);
+		callRangeMethod(setter, target, Index.fromJava(1, 1), Lists.newArrayList(true, false, true));
+		Assert.assertArrayEquals(new boolean[] { false, true, false, true }, target.arrayField);
+
+		// nil can't be stored in primitive array, so nothing is written
+		try {
+			callRangeMethod(setter, target, Index.fromJava(0, 1), Lists.newArrayList(null, false));
+			Assert.fail("Should not allow nil values");
+		} catch (IllegalArgumentException e) {}
+		Assert.assertArrayEquals(new boolean[] { false, true, false, true }, target.arrayField);
+
+		final IMethodExecutor getter = findExecutor("getHelloRange", output);
+		Assert.assertEquals(Lists.newArrayList(true, false), callRangeMethod(getter, target, Index.fromJava(1, 1), Index.fromJava(2, 1)));
+		Assert.assertEquals(Lists.newArrayList(), callRangeMethod(getter, target, Index.fromJava(4, 1)));
+	}
+
+	@Test
+	public void testNoRangeMethodsForMaps() {
+		PropertyListBuilder builder = create(FieldSource.class, mapField);
+		builder.addIndexed("Hello", "", "", NOT_DELEGATING, READ_WRITE, NOT_NULLABLE, NOT_EXPANDABLE, GetTypeFromField.class, ArgType.AUTO, GetTypeFromField.class, ArgType.AUTO);
+		buildPropertyListAndCheckSize(builder, 2);
+	}
 }
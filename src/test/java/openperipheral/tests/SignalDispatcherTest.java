@@ -0,0 +1,118 @@
+package openperipheral.tests;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import openperipheral.Config;
+import openperipheral.interfaces.SignalDispatcher;
+import openperipheral.interfaces.SignalDispatcher.ISignalTarget;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class SignalDispatcherTest {
+
+	private boolean batchSignals;
+
+	@Before
+	public void enableBatching() {
+		batchSignals = Config.batchSignals;
+		Config.batchSignals = true;
+	}
+
+	@After
+	public void restoreBatching() {
+		Config.batchSignals = batchSignals;
+	}
+
+	private static ISignalTarget createTarget(String computer, String peripheral) {
+		ISignalTarget target = mock(ISignalTarget.class);
+		when(target.architecture()).thenReturn("test");
+		when(target.callerName()).thenReturn(computer);
+		when(target.peripheralName()).thenReturn(peripheral);
+		when(target.canSignal()).thenReturn(true);
+		return target;
+	}
+
+	@Test
+	public void testSignalsDeliveredOnFlushInOrder() {
+		SignalDispatcher dispatcher = new SignalDispatcher();
+		ISignalTarget target = createTarget("1", "left");
+
+		Assert.assertTrue(dispatcher.signal(target, "a", 1));
+		Assert.assertTrue(dispatcher.signal(target, "b", 2));
+		Assert.assertTrue(dispatcher.signal(target, "a", 3));
+		verify(target, never()).deliverSignal(anyString(), any(Object[].class));
+
+		dispatcher.flush();
+
+		InOrder order = inOrder(target);
+		order.verify(target).deliverSignal("a", new Object[] { 1 });
+		order.verify(target).deliverSignal("b", new Object[] { 2 });
+		order.verify(target).deliverSignal("a", new Object[] { 3 });
+
+		dispatcher.flush();
+		verify(target).deliverSignal("b", new Object[] { 2 });
+	}
+
+	@Test
+	public void testCoalescing() {
+		SignalDispatcher dispatcher = new SignalDispatcher();
+		dispatcher.loadCoalescingRules(new String[] { "state", "slot:1", "bad:x" });
+
+		ISignalTarget target = createTarget("1", "left");
+
+		for (int i = 0; i < 20; i++)
+			dispatcher.signal(target, "state", i);
+
+		dispatcher.signal(target, "slot", 0, "a");
+		dispatcher.signal(target, "slot", 1, "b");
+		dispatcher.signal(target, "slot", 0, "c");
+		dispatcher.signal(target, "bad", 0);
+		dispatcher.signal(target, "bad", 1);
+
+		dispatcher.flush();
+
+		verify(target).deliverSignal("state", new Object[] { 19 });
+		verify(target, never()).deliverSignal("state", new Object[] { 0 });
+		verify(target).deliverSignal("slot", new Object[] { 0, "c" });
+		verify(target).deliverSignal("slot", new Object[] { 1, "b" });
+		verify(target, never()).deliverSignal("slot", new Object[] { 0, "a" });
+		verify(target).deliverSignal("bad", new Object[] { 0 });
+		verify(target).deliverSignal("bad", new Object[] { 1 });
+	}
+
+	@Test
+	public void testCoalescingIsPerPeripheral() {
+		SignalDispatcher dispatcher = new SignalDispatcher();
+		dispatcher.loadCoalescingRules(new String[] { "state" });
+
+		ISignalTarget left = createTarget("1", "left");
+		ISignalTarget right = createTarget("1", "right");
+
+		dispatcher.signal(left, "state", 1);
+		dispatcher.signal(right, "state", 2);
+		dispatcher.flush();
+
+		verify(left).deliverSignal("state", new Object[] { 1 });
+		verify(right).deliverSignal("state", new Object[] { 2 });
+	}
+
+	@Test
+	public void testUnbatchedSignalReportsDelivery() {
+		Config.batchSignals = false;
+		SignalDispatcher dispatcher = new SignalDispatcher();
+		ISignalTarget target = createTarget("1", "left");
+		when(target.deliverSignal(anyString(), any(Object[].class))).thenReturn(false);
+
+		Assert.assertFalse(dispatcher.signal(target, "a", 1));
+		verify(target).deliverSignal("a", new Object[] { 1 });
+	}
+}
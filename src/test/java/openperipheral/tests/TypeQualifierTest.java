@@ -12,8 +12,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import openperipheral.adapter.types.SingleArgType;
 import openperipheral.adapter.types.classifier.TypeClassifier;
 import openperipheral.api.adapter.IScriptType;
+import openperipheral.api.adapter.ITypeClassifier;
+import openperipheral.api.adapter.ITypeClassifier.IGenericClassifier;
 import openperipheral.api.struct.ScriptStruct;
 import openperipheral.api.struct.StructField;
 import org.junit.Assert;
@@ -245,4 +248,35 @@ public class TypeQualifierTest {
 		testQualifier("table", List.class);
 		testQualifier("table", Set.class);
 	}
+
+	@Test
+	public void testCachingAndInterning() {
+		final TypeClassifier qualifier = new TypeClassifier();
+		final IScriptType intArray = qualifier.classifyType(int[].class);
+		Assert.assertSame(intArray, qualifier.classifyType(int[].class));
+		Assert.assertSame(intArray, qualifier.classifyType(Integer[].class));
+		Assert.assertNotSame(intArray, qualifier.classifyType(boolean[].class));
+	}
+
+	public static class LateRegisteredType {}
+
+	@Test
+	public void testStaleResultNotCachedAfterRegistration() {
+		final TypeClassifier qualifier = new TypeClassifier();
+		qualifier.registerClassifier(new IGenericClassifier() {
+			private boolean registered;
+
+			@Override
+			public IScriptType classify(ITypeClassifier classifier, Type type) {
+				if (type != LateRegisteredType.class || registered) return null;
+				// simulates registration from other thread, done while classification is in progress
+				registered = true;
+				qualifier.registerType(LateRegisteredType.class, SingleArgType.NUMBER);
+				return SingleArgType.STRING;
+			}
+		});
+
+		Assert.assertEquals("string", qualifier.classifyType(LateRegisteredType.class).describe());
+		Assert.assertEquals("number", qualifier.classifyType(LateRegisteredType.class).describe());
+	}
 }